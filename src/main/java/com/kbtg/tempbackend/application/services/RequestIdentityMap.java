@@ -0,0 +1,56 @@
+package com.kbtg.tempbackend.application.services;
+
+import com.kbtg.tempbackend.domain.entities.UserEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Request Identity Map - Users already loaded while handling the current HTTP request
+ * Lets a request that resolved its user during authentication reuse that user instead of
+ * looking it up again. Backed by request attributes, so it is discarded with the request;
+ * outside a request (e.g. on worker pools) it simply holds nothing.
+ */
+@Component
+public class RequestIdentityMap {
+
+    private static final String ATTRIBUTE = RequestIdentityMap.class.getName();
+
+    /**
+     * @param email The user's email
+     * @return The user loaded earlier in this request, or null
+     */
+    public UserEntity getByEmail(String email) {
+        Map<String, UserEntity> users = users(false);
+        return users != null ? users.get(email) : null;
+    }
+
+    /**
+     * Remember a user for the rest of the current request
+     * @param user The loaded user
+     */
+    public void put(UserEntity user) {
+        Map<String, UserEntity> users = users(true);
+        if (users != null) {
+            users.put(user.getEmail(), user);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, UserEntity> users(boolean create) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Map<String, UserEntity> users =
+                (Map<String, UserEntity>) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (users == null && create) {
+            users = new HashMap<>(2);
+            attributes.setAttribute(ATTRIBUTE, users, RequestAttributes.SCOPE_REQUEST);
+        }
+        return users;
+    }
+}
@@ -0,0 +1,104 @@
+package com.kbtg.tempbackend.application.services;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single Flight - Collapses concurrent calls with the same key into one execution
+ * The first caller for a key runs the call; callers arriving while it is in flight wait for
+ * and share its result. Nothing is kept once the call completes, so a later call with the
+ * same key runs again. Shared results are handed to several callers and must not be mutated.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder shared = new LongAdder();
+
+    /**
+     * Run a call, or join the identical call already in flight
+     * @param key Identifies identical calls
+     * @param call The computation
+     * @return The call's result
+     */
+    public V execute(K key, Supplier<V> call) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            shared.increment();
+            return join(existing);
+        }
+        try {
+            V result = call.get();
+            inFlight.remove(key, mine);
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Start an asynchronous call, or join the identical call already in flight
+     * @param key Identifies identical calls
+     * @param call Starts the computation
+     * @return Future completing with the call's result
+     */
+    public CompletableFuture<V> executeAsync(K key, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            shared.increment();
+            return existing.copy();
+        }
+        try {
+            call.get().whenComplete((result, error) -> {
+                inFlight.remove(key, mine);
+                if (error != null) {
+                    mine.completeExceptionally(error);
+                } else {
+                    mine.complete(result);
+                }
+            });
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+        // Callers get a copy so none of them can complete or cancel the shared future
+        return mine.copy();
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @return Number of calls that joined another in-flight call instead of running
+     */
+    public long getSharedCount() {
+        return shared.sum();
+    }
+
+    /**
+     * @return Number of calls currently in flight
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+}
@@ -1,6 +1,7 @@
 package com.kbtg.tempbackend.application.services;
 
 import com.kbtg.tempbackend.application.usecases.GetUserProfileUseCase;
+import com.kbtg.tempbackend.application.usecases.ImportUsersUseCase;
 import com.kbtg.tempbackend.application.usecases.LoginUserUseCase;
 import com.kbtg.tempbackend.application.usecases.RegisterUserUseCase;
 import com.kbtg.tempbackend.domain.entities.UserEntity;
@@ -8,11 +9,38 @@ import com.kbtg.tempbackend.domain.repositories.UserRepositoryPort;
 import com.kbtg.tempbackend.domain.services.JwtServicePort;
 import com.kbtg.tempbackend.domain.services.PasswordEncoderPort;
 import com.kbtg.tempbackend.interfaces.dtos.LoginResponse;
+import com.kbtg.tempbackend.interfaces.dtos.UserBatchResponse;
+import com.kbtg.tempbackend.interfaces.dtos.UserImportEvent;
+import com.kbtg.tempbackend.interfaces.dtos.UserImportRecord;
 import com.kbtg.tempbackend.interfaces.dtos.UserProfileResponse;
 import com.kbtg.tempbackend.interfaces.dtos.UserRegistrationResponse;
+import com.kbtg.tempbackend.interfaces.dtos.UserSummaryResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.kbtg.tempbackend.config.PasswordHashingConfig.IMPORT_HASHING_POOL;
+import static com.kbtg.tempbackend.config.PasswordHashingConfig.PASSWORD_HASHING_EXECUTOR;
 
 /**
  * User Application Service - Application layer service orchestrating use cases
@@ -24,15 +52,30 @@ public class UserApplicationService {
     private final RegisterUserUseCase registerUserUseCase;
     private final LoginUserUseCase loginUserUseCase;
     private final GetUserProfileUseCase getUserProfileUseCase;
+    private final ImportUsersUseCase importUsersUseCase;
     private final UserRepositoryPort userRepository;
+    private final JwtServicePort jwtService;
+    private final Executor passwordHashingExecutor;
+    private final RequestIdentityMap identityMap;
+    // Concurrent identical lookups and logins share one in-flight execution
+    private final SingleFlight<String, UserEntity> userLookups = new SingleFlight<>();
+    private final SingleFlight<String, LoginResponse> logins = new SingleFlight<>();
     
     public UserApplicationService(UserRepositoryPort userRepository,
                                 PasswordEncoderPort passwordEncoder,
-                                JwtServicePort jwtService) {
+                                JwtServicePort jwtService,
+                                @Qualifier(PASSWORD_HASHING_EXECUTOR) Executor passwordHashingExecutor,
+                                RequestIdentityMap identityMap,
+                                @Qualifier(IMPORT_HASHING_POOL) ForkJoinPool importHashingPool,
+                                @Value("${users.import.batch-size:500}") int importBatchSize) {
         this.userRepository = userRepository;
+        this.jwtService = jwtService;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.identityMap = identityMap;
         this.registerUserUseCase = new RegisterUserUseCase(userRepository, passwordEncoder);
         this.loginUserUseCase = new LoginUserUseCase(userRepository, passwordEncoder, jwtService);
         this.getUserProfileUseCase = new GetUserProfileUseCase(userRepository);
+        this.importUsersUseCase = new ImportUsersUseCase(userRepository, passwordEncoder, importHashingPool, importBatchSize);
     }
     
     /**
@@ -41,12 +84,22 @@ public class UserApplicationService {
      * @return UserRegistrationResponse DTO
      */
     public UserRegistrationResponse registerUser(UserEntity user) {
+        return registerUser(user, false);
+    }
+    
+    /**
+     * Register a new user, optionally logging them in
+     * @param user The user entity to register
+     * @param issueToken Whether to include a JWT token in the response
+     * @return UserRegistrationResponse DTO
+     */
+    public UserRegistrationResponse registerUser(UserEntity user, boolean issueToken) {
         try {
             UserEntity savedUser = registerUserUseCase.execute(user);
             
             // Convert to response DTO
             String fullName = savedUser.getFullName();
-            return new UserRegistrationResponse(
+            UserRegistrationResponse response = new UserRegistrationResponse(
                 "success",
                 "User registered successfully",
                 savedUser.getId(),
@@ -55,6 +108,11 @@ public class UserApplicationService {
                 savedUser.getPhoneNumber(),
                 savedUser.getBirthday()
             );
+            if (issueToken) {
+                // The password was just hashed from the caller's input, so no login round trip is needed
+                response.setToken(jwtService.generateToken(savedUser.getId(), savedUser.getEmail()));
+            }
+            return response;
             
         } catch (IllegalArgumentException e) {
             return new UserRegistrationResponse("error", e.getMessage());
@@ -63,6 +121,37 @@ public class UserApplicationService {
         }
     }
     
+    /**
+     * Register a new user on the password hashing executor
+     * @param user The user entity to register
+     * @return Future completing with the UserRegistrationResponse DTO
+     * @throws RejectedExecutionException if the hashing queue is full
+     */
+    public CompletableFuture<UserRegistrationResponse> registerUserAsync(UserEntity user) {
+        return registerUserAsync(user, false);
+    }
+    
+    /**
+     * Register a new user on the password hashing executor, optionally logging them in
+     * @param user The user entity to register
+     * @param issueToken Whether to include a JWT token in the response
+     * @return Future completing with the UserRegistrationResponse DTO
+     * @throws RejectedExecutionException if the hashing queue is full
+     */
+    public CompletableFuture<UserRegistrationResponse> registerUserAsync(UserEntity user, boolean issueToken) {
+        return CompletableFuture.supplyAsync(() -> registerUser(user, issueToken), passwordHashingExecutor);
+    }
+    
+    /**
+     * Import users in batches, reporting rejected rows and progress as it goes
+     * @param records The records to import, read lazily
+     * @param listener Receives error, progress and done events in order
+     * @return The final summary event
+     */
+    public UserImportEvent importUsers(Iterator<UserImportRecord> records, Consumer<UserImportEvent> listener) {
+        return importUsersUseCase.execute(records, listener);
+    }
+    
     /**
      * Authenticate user and generate JWT token
      * @param email User's email
@@ -70,6 +159,10 @@ public class UserApplicationService {
      * @return LoginResponse DTO
      */
     public LoginResponse loginUser(String email, String password) {
+        return logins.execute(loginKey(email, password), () -> authenticate(email, password));
+    }
+    
+    private LoginResponse authenticate(String email, String password) {
         try {
             LoginUserUseCase.LoginResult result = loginUserUseCase.execute(email, password);
             
@@ -84,6 +177,30 @@ public class UserApplicationService {
         }
     }
     
+    /**
+     * Authenticate user on the password hashing executor
+     * @param email User's email
+     * @param password User's password
+     * @return Future completing with the LoginResponse DTO
+     * @throws RejectedExecutionException if the hashing queue is full
+     */
+    public CompletableFuture<LoginResponse> loginUserAsync(String email, String password) {
+        // Identical retries join the attempt in flight instead of taking another hashing slot
+        return logins.executeAsync(loginKey(email, password),
+            () -> CompletableFuture.supplyAsync(() -> authenticate(email, password), passwordHashingExecutor));
+    }
+    
+    // The password is keyed by digest so it is never held as a map key
+    private static String loginKey(String email, String password) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] digest = sha256.digest(String.valueOf(password).getBytes(StandardCharsets.UTF_8));
+            return email + '\n' + HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
     /**
      * Get user profile by email
      * @param email User's email
@@ -91,29 +208,60 @@ public class UserApplicationService {
      */
     public UserProfileResponse getUserProfile(String email) {
         try {
-            Optional<UserEntity> userOpt = getUserProfileUseCase.execute(email);
+            // Reuse the user resolved during authentication of this request, if any
+            UserEntity resolved = identityMap.getByEmail(email);
+            Optional<UserEntity> userOpt = resolved != null
+                    ? Optional.of(resolved)
+                    : getUserProfileUseCase.execute(email);
             
             if (userOpt.isEmpty()) {
                 return new UserProfileResponse("error", "User not found");
             }
             
-            UserEntity user = userOpt.get();
-            return new UserProfileResponse(
-                "success",
-                "User profile retrieved successfully",
-                user.getId(),
-                user.getEmail(),
-                user.getFirstname(),
-                user.getLastname(),
-                user.getPhoneNumber(),
-                user.getBirthday()
-            );
+            return toProfile(userOpt.get());
             
         } catch (Exception e) {
             return new UserProfileResponse("error", "Failed to retrieve user profile: " + e.getMessage());
         }
     }
     
+    /**
+     * Get user profiles for a batch of IDs with a single lookup
+     * @param ids User IDs; duplicates are ignored
+     * @return UserBatchResponse DTO with the profiles found, in request order, and the IDs not found
+     */
+    public UserBatchResponse getUserProfiles(List<Long> ids) {
+        Map<Long, UserEntity> usersById = new LinkedHashMap<>();
+        for (UserEntity user : userRepository.findAllById(ids)) {
+            usersById.put(user.getId(), user);
+        }
+        
+        List<UserProfileResponse> found = new ArrayList<>(usersById.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            UserEntity user = usersById.get(id);
+            if (user != null) {
+                found.add(toProfile(user));
+            } else {
+                missing.add(id);
+            }
+        }
+        return new UserBatchResponse("success", "User profiles retrieved successfully", found, missing);
+    }
+    
+    private static UserProfileResponse toProfile(UserEntity user) {
+        return new UserProfileResponse(
+            "success",
+            "User profile retrieved successfully",
+            user.getId(),
+            user.getEmail(),
+            user.getFirstname(),
+            user.getLastname(),
+            user.getPhoneNumber(),
+            user.getBirthday()
+        );
+    }
+    
     /**
      * Check if email exists
      * @param email Email to check
@@ -123,13 +271,89 @@ public class UserApplicationService {
         return userRepository.existsByEmail(email);
     }
     
+    /**
+     * Check which of the given emails exist
+     * @param emails Emails to check
+     * @return Map of each email to whether it exists, in request order
+     */
+    public Map<String, Boolean> checkEmailsExist(List<String> emails) {
+        Set<String> existing = userRepository.findExistingEmails(emails);
+        Map<String, Boolean> results = new LinkedHashMap<>();
+        for (String email : emails) {
+            results.put(email, existing.contains(email));
+        }
+        return results;
+    }
+    
     /**
      * Get user by email
      * @param email User's email
      * @return UserEntity or null if not found
      */
     public UserEntity getUserByEmail(String email) {
-        return userRepository.findByEmail(email).orElse(null);
+        UserEntity user = identityMap.getByEmail(email);
+        if (user == null) {
+            user = userLookups.execute(email, () -> userRepository.findByEmail(email).orElse(null));
+            if (user != null) {
+                identityMap.put(user);
+            }
+        }
+        return user;
+    }
+    
+    /**
+     * Get one page of users ordered by ID
+     * @param afterId Return users with an ID greater than this; null starts from the beginning
+     * @param limit Maximum number of users to return
+     * @return List of UserSummaryResponse DTOs
+     */
+    public List<UserSummaryResponse> getUsersPage(Long afterId, int limit) {
+        return userRepository.findPage(afterId, limit).stream()
+                .map(UserApplicationService::toSummary)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Stream all users ordered by ID without loading them into memory
+     * @return Stream of UserSummaryResponse DTOs; the caller must close it
+     */
+    public Stream<UserSummaryResponse> streamUsers() {
+        return userRepository.streamAll().map(UserApplicationService::toSummary);
+    }
+    
+    private static UserSummaryResponse toSummary(UserEntity user) {
+        return new UserSummaryResponse(
+            user.getId(),
+            user.getEmail(),
+            user.getFirstname(),
+            user.getLastname(),
+            user.getPhoneNumber(),
+            user.getBirthday()
+        );
+    }
+    
+    /**
+     * Get number of passwords re-encoded with the current cost factor on login
+     * @return Rehash count since startup
+     */
+    public long getPasswordRehashCount() {
+        return loginUserUseCase.getRehashCount();
+    }
+    
+    /**
+     * Get number of user lookups served by joining an identical lookup in flight
+     * @return Coalesced lookup count since startup
+     */
+    public long getCoalescedLookupCount() {
+        return userLookups.getSharedCount();
+    }
+    
+    /**
+     * Get number of logins served by joining an identical login in flight
+     * @return Coalesced login count since startup
+     */
+    public long getCoalescedLoginCount() {
+        return logins.getSharedCount();
     }
     
     /**
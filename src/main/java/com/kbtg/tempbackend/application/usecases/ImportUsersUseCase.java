@@ -0,0 +1,189 @@
+package com.kbtg.tempbackend.application.usecases;
+
+import com.kbtg.tempbackend.domain.entities.UserEntity;
+import com.kbtg.tempbackend.domain.repositories.UserRepositoryPort;
+import com.kbtg.tempbackend.domain.services.PasswordEncoderPort;
+import com.kbtg.tempbackend.interfaces.dtos.UserImportEvent;
+import com.kbtg.tempbackend.interfaces.dtos.UserImportRecord;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+/**
+ * Import Users Use Case - Application layer business logic for bulk user import
+ * Records are consumed in batches: each batch is validated with the same rules as
+ * registration, checked against existing emails with one query, hashed in parallel
+ * and written in a single transaction. Rows that fail are reported and skipped;
+ * they never abort the rest of the import.
+ */
+public class ImportUsersUseCase {
+    
+    private final UserRepositoryPort userRepository;
+    private final PasswordEncoderPort passwordEncoder;
+    private final ForkJoinPool hashingPool;
+    private final int batchSize;
+    
+    public ImportUsersUseCase(UserRepositoryPort userRepository, PasswordEncoderPort passwordEncoder,
+                              ForkJoinPool hashingPool, int batchSize) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.hashingPool = hashingPool;
+        this.batchSize = Math.max(1, batchSize);
+    }
+    
+    /**
+     * Execute the import
+     * @param records The records to import, read lazily
+     * @param listener Receives an error event per rejected row and a progress event per batch
+     * @return The final summary, which is also passed to the listener
+     */
+    public UserImportEvent execute(Iterator<UserImportRecord> records, Consumer<UserImportEvent> listener) {
+        Progress progress = new Progress();
+        List<UserImportRecord> batch = new ArrayList<>(batchSize);
+        while (records.hasNext()) {
+            batch.add(records.next());
+            if (batch.size() == batchSize) {
+                importBatch(batch, progress, listener);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            importBatch(batch, progress, listener);
+        }
+        UserImportEvent done = progress.toEvent(UserImportEvent.DONE);
+        listener.accept(done);
+        return done;
+    }
+    
+    private void importBatch(List<UserImportRecord> batch, Progress progress, Consumer<UserImportEvent> listener) {
+        progress.processed += batch.size();
+        
+        // Validate, keeping the first row for each email in the batch
+        Map<String, Candidate> candidates = new LinkedHashMap<>();
+        for (UserImportRecord record : batch) {
+            if (record.getParseError() != null) {
+                reject(record, record.getParseError(), progress, listener);
+                continue;
+            }
+            UserEntity user;
+            try {
+                user = toEntity(record);
+            } catch (IllegalArgumentException e) {
+                reject(record, e.getMessage(), progress, listener);
+                continue;
+            }
+            if (candidates.putIfAbsent(user.getEmail(), new Candidate(record, user)) != null) {
+                reject(record, "Duplicate email in import", progress, listener);
+            }
+        }
+        
+        // Drop known emails before paying for BCrypt; earlier batches are already committed
+        if (!candidates.isEmpty()) {
+            Set<String> existing = userRepository.findExistingEmails(candidates.keySet());
+            for (String email : existing) {
+                Candidate duplicate = candidates.remove(email);
+                if (duplicate != null) {
+                    reject(duplicate.record, "Email already exists", progress, listener);
+                }
+            }
+        }
+        
+        if (!candidates.isEmpty()) {
+            List<Candidate> accepted = new ArrayList<>(candidates.values());
+            hashPasswords(accepted);
+            save(accepted, progress, listener);
+        }
+        listener.accept(progress.toEvent(UserImportEvent.PROGRESS));
+    }
+    
+    private void hashPasswords(List<Candidate> candidates) {
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            String password = candidate.user.getPassword();
+            // Hashes carried over from another system are imported unchanged
+            if (!passwordEncoder.isEncoded(password)) {
+                tasks.add(hashingPool.submit(() -> candidate.user.setPassword(passwordEncoder.encode(password))));
+            }
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+    }
+    
+    private void save(List<Candidate> candidates, Progress progress, Consumer<UserImportEvent> listener) {
+        List<UserEntity> users = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            users.add(candidate.user);
+        }
+        try {
+            progress.imported += userRepository.saveAll(users).size();
+        } catch (RuntimeException e) {
+            // e.g. an email registered while the batch was being hashed; retry row by row to isolate it
+            for (Candidate candidate : candidates) {
+                try {
+                    userRepository.save(candidate.user);
+                    progress.imported++;
+                } catch (IllegalArgumentException rowError) {
+                    reject(candidate.record, rowError.getMessage(), progress, listener);
+                } catch (RuntimeException rowError) {
+                    reject(candidate.record, "Failed to import user: " + rowError.getMessage(), progress, listener);
+                }
+            }
+        }
+    }
+    
+    private static UserEntity toEntity(UserImportRecord record) {
+        LocalDate birthday = null;
+        String rawBirthday = record.getBirthday();
+        if (rawBirthday != null && !rawBirthday.isBlank()) {
+            try {
+                birthday = LocalDate.parse(rawBirthday.trim());
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Birthday must be a date in yyyy-MM-dd format");
+            }
+        }
+        return new UserEntity(
+            record.getEmail(),
+            record.getPassword(),
+            record.getFirstname(),
+            record.getLastname(),
+            record.getPhoneNumber(),
+            birthday
+        );
+    }
+    
+    private static void reject(UserImportRecord record, String message, Progress progress,
+                               Consumer<UserImportEvent> listener) {
+        progress.failed++;
+        listener.accept(UserImportEvent.error(record.getLine(), record.getEmail(), message));
+    }
+    
+    private static final class Candidate {
+        private final UserImportRecord record;
+        private final UserEntity user;
+        
+        private Candidate(UserImportRecord record, UserEntity user) {
+            this.record = record;
+            this.user = user;
+        }
+    }
+    
+    private static final class Progress {
+        private long processed;
+        private long imported;
+        private long failed;
+        
+        private UserImportEvent toEvent(String type) {
+            return UserImportEvent.progress(type, processed, imported, failed);
+        }
+    }
+}
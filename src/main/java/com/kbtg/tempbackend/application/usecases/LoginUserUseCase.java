@@ -4,8 +4,11 @@ import com.kbtg.tempbackend.domain.entities.UserEntity;
 import com.kbtg.tempbackend.domain.repositories.UserRepositoryPort;
 import com.kbtg.tempbackend.domain.services.PasswordEncoderPort;
 import com.kbtg.tempbackend.domain.services.JwtServicePort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Login User Use Case - Application layer business logic for user authentication
@@ -13,9 +16,12 @@ import java.util.Optional;
  */
 public class LoginUserUseCase {
     
+    private static final Logger log = LoggerFactory.getLogger(LoginUserUseCase.class);
+    
     private final UserRepositoryPort userRepository;
     private final PasswordEncoderPort passwordEncoder;
     private final JwtServicePort jwtService;
+    private final LongAdder rehashCount = new LongAdder();
     
     public LoginUserUseCase(UserRepositoryPort userRepository, 
                            PasswordEncoderPort passwordEncoder, 
@@ -45,12 +51,40 @@ public class LoginUserUseCase {
             return new LoginResult(false, null, "Invalid credentials");
         }
         
+        // Bring hashes made with an older cost factor up to the current one
+        if (passwordEncoder.needsRehash(user.getPassword())) {
+            rehash(user, password);
+        }
+        
         // Generate token
-        String token = jwtService.generateToken(user.getEmail());
+        String token = jwtService.generateToken(user.getId(), user.getEmail());
         
         return new LoginResult(true, token, "Login successful");
     }
     
+    /**
+     * Re-encode the password with the current settings. A failure here must not
+     * fail the login, the rehash is simply retried on the next one.
+     */
+    private void rehash(UserEntity user, String password) {
+        try {
+            user.setPassword(passwordEncoder.encode(password));
+            userRepository.save(user);
+            rehashCount.increment();
+        } catch (RuntimeException e) {
+            // Keep the existing hash; it still verifies
+            log.warn("Password rehash failed for user {}; keeping the existing hash", user.getId(), e);
+        }
+    }
+    
+    /**
+     * Number of stored passwords re-encoded after a successful login
+     * @return Rehash count since startup
+     */
+    public long getRehashCount() {
+        return rehashCount.sum();
+    }
+    
     /**
      * Login Result DTO
      */
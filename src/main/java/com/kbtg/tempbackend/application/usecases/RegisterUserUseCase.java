@@ -1,6 +1,7 @@
 package com.kbtg.tempbackend.application.usecases;
 
 import com.kbtg.tempbackend.domain.entities.UserEntity;
+import com.kbtg.tempbackend.domain.exceptions.DuplicateEmailException;
 import com.kbtg.tempbackend.domain.repositories.UserRepositoryPort;
 import com.kbtg.tempbackend.domain.services.PasswordEncoderPort;
 
@@ -22,19 +23,20 @@ public class RegisterUserUseCase {
      * Execute user registration
      * @param user The user entity to register
      * @return The registered user entity
-     * @throws IllegalArgumentException if email already exists
+     * @throws DuplicateEmailException if email already exists
      */
     public UserEntity execute(UserEntity user) {
-        // Check if email already exists
+        // Cheap early rejection so known duplicates never pay for BCrypt; for new emails the
+        // repository answers from its email filter without a query
         if (userRepository.existsByEmail(user.getEmail())) {
-            throw new IllegalArgumentException("Email already exists");
+            throw new DuplicateEmailException(user.getEmail());
         }
         
         // Encode password
         String encodedPassword = passwordEncoder.encode(user.getPassword());
         user.setPassword(encodedPassword);
         
-        // Save user
+        // Save user; the unique email constraint settles concurrent registrations of the same email
         return userRepository.save(user);
     }
 }
@@ -1,5 +1,11 @@
 package com.kbtg.tempbackend.config;
 
+import com.kbtg.tempbackend.application.services.UserApplicationService;
+import com.kbtg.tempbackend.infrastructure.metrics.MetricsSource;
+import com.kbtg.tempbackend.infrastructure.security.BCryptCalibration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -8,8 +14,34 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 @Configuration
 public class PasswordConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(PasswordConfig.class);
+
+    // A pinned strength skips calibration; otherwise the cost is tuned to the latency target
+    @Bean
+    public BCryptCalibration bcryptCalibration(@Value("${password.bcrypt.strength:0}") int strength,
+                                               @Value("${password.bcrypt.target-millis:250}") long targetMillis,
+                                               @Value("${password.bcrypt.min-strength:10}") int minStrength) {
+        BCryptCalibration calibration = strength > 0
+                ? BCryptCalibration.fixed(strength)
+                : BCryptCalibration.measure(targetMillis, minStrength);
+        log.info("BCrypt cost factor selected: {}", calibration);
+        return calibration;
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder(BCryptCalibration bcryptCalibration) {
+        return new BCryptPasswordEncoder(bcryptCalibration.getStrength());
+    }
+
+    // The chosen cost and how many stored hashes have been upgraded to it, served by GET /api/metrics
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public MetricsSource passwordMetrics(BCryptCalibration bcryptCalibration,
+                                         UserApplicationService userApplicationService) {
+        return registry -> {
+            registry.gauge("password.bcrypt.strength", bcryptCalibration::getStrength);
+            registry.gauge("password.bcrypt.target-millis", bcryptCalibration::getTargetMillis);
+            registry.gauge("password.bcrypt.measured-millis", bcryptCalibration::getMeasuredMillis);
+            registry.gauge("password.rehash.count", userApplicationService::getPasswordRehashCount);
+        };
     }
 }
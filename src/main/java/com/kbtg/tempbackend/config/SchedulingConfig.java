@@ -0,0 +1,12 @@
+package com.kbtg.tempbackend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs, such as the user count reconcile
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,6 +1,7 @@
 package com.kbtg.tempbackend.config;
 
 import com.kbtg.tempbackend.infrastructure.security.JwtAuthenticationFilterClean;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -17,8 +18,14 @@ public class SecurityConfig {
     public SecurityFilterChain filterChain(HttpSecurity http, JwtAuthenticationFilterClean jwtAuthenticationFilter) throws Exception {
         http.csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(authz -> authz
+                // Async and error dispatches were already authorized on the original request
+                .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                 .requestMatchers("/api/register", "/api/login", "/swagger-ui/**", "/v3/api-docs/**", "/get").permitAll()
                 .requestMatchers("/api/me").authenticated()
+                // Bulk user endpoints and metrics are for operators only (see security.admin-emails)
+                .requestMatchers("/api/users", "/api/users/batch", "/api/users/check-emails", "/api/users/export",
+                        "/api/users/import").hasRole("ADMIN")
+                .requestMatchers("/api/metrics").hasRole("ADMIN")
                 .anyRequest().authenticated()
             )
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -0,0 +1,77 @@
+package com.kbtg.tempbackend.config;
+
+import com.kbtg.tempbackend.infrastructure.sqlite.SqliteRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.sqlite.SQLiteConfig;
+
+import javax.sql.DataSource;
+import java.util.Properties;
+
+/**
+ * SQLite-aware DataSource: WAL journal and tuned pragmas on every connection,
+ * a multi-connection read pool and one dedicated writer connection.
+ * Enabled with sqlite.datasource.enabled=true; otherwise Spring Boot's default pool is used.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sqlite.datasource.enabled", havingValue = "true")
+public class SqliteDataSourceConfig {
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${sqlite.read-pool.size:4}")
+    private int readPoolSize;
+
+    @Value("${sqlite.pragma.synchronous:NORMAL}")
+    private String synchronous;
+
+    @Value("${sqlite.pragma.busy-timeout-millis:5000}")
+    private int busyTimeoutMillis;
+
+    // Negative values are KiB, as in "PRAGMA cache_size"
+    @Value("${sqlite.pragma.cache-size:-16000}")
+    private int cacheSize;
+
+    @Value("${sqlite.pragma.mmap-size:268435456}")
+    private long mmapSize;
+
+    @Bean
+    public DataSource dataSource() {
+        if (url.contains(":memory:") || url.contains("mode=memory")) {
+            // Each pooled connection would open its own private, empty database
+            throw new IllegalStateException("sqlite.datasource.enabled=true needs a file database, not " + url);
+        }
+        Properties pragmas = connectionPragmas();
+        HikariDataSource readPool = pool("sqlite-read", readPoolSize, pragmas);
+        HikariDataSource writer = pool("sqlite-write", 1, pragmas);
+        return new SqliteRoutingDataSource(readPool, writer);
+    }
+
+    // sqlite-jdbc applies these pragmas each time it opens a connection
+    private Properties connectionPragmas() {
+        SQLiteConfig config = new SQLiteConfig();
+        config.setJournalMode(SQLiteConfig.JournalMode.WAL);
+        config.setSynchronous(SQLiteConfig.SynchronousMode.valueOf(synchronous));
+        config.setBusyTimeout(busyTimeoutMillis);
+        config.setCacheSize(cacheSize);
+        config.setTempStore(SQLiteConfig.TempStore.MEMORY);
+        config.setPragma(SQLiteConfig.Pragma.MMAP_SIZE, String.valueOf(mmapSize));
+        return config.toProperties();
+    }
+
+    private HikariDataSource pool(String name, int size, Properties pragmas) {
+        HikariConfig hikari = new HikariConfig();
+        hikari.setPoolName(name);
+        hikari.setJdbcUrl(url);
+        hikari.setDriverClassName("org.sqlite.JDBC");
+        hikari.setMaximumPoolSize(size);
+        hikari.setMinimumIdle(size);
+        hikari.setDataSourceProperties(pragmas);
+        return new HikariDataSource(hikari);
+    }
+}
@@ -1,6 +1,7 @@
 package com.kbtg.tempbackend.domain.entities;
 
 import java.time.LocalDate;
+import java.util.regex.Pattern;
 
 /**
  * User Domain Entity - Core business entity without framework dependencies
@@ -8,6 +9,9 @@ import java.time.LocalDate;
  */
 public class UserEntity {
     
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@(.+)$");
+    private static final Pattern PHONE_NUMBER_PATTERN = Pattern.compile("^[0-9]{10}$");
+    
     private Long id;
     private String email;
     private String password;
@@ -44,13 +48,30 @@ public class UserEntity {
         this.id = id;
     }
 
+    /**
+     * Reconstitute a persisted user without re-running validation.
+     * Only for data that was validated when it was stored, e.g. rows loaded from the database.
+     */
+    public static UserEntity rehydrate(Long id, String email, String password, String firstname,
+                                       String lastname, String phoneNumber, LocalDate birthday) {
+        UserEntity user = new UserEntity();
+        user.id = id;
+        user.email = email;
+        user.password = password;
+        user.firstname = firstname;
+        user.lastname = lastname;
+        user.phoneNumber = phoneNumber;
+        user.birthday = birthday;
+        return user;
+    }
+
     // Business logic methods
     public String getFullName() {
         return firstname + " " + lastname;
     }
 
     public boolean isEmailValid() {
-        return email != null && email.matches("^[A-Za-z0-9+_.-]+@(.+)$");
+        return email != null && EMAIL_PATTERN.matcher(email).matches();
     }
 
     public boolean isAdult() {
@@ -63,7 +84,7 @@ public class UserEntity {
         if (email == null || email.trim().isEmpty()) {
             throw new IllegalArgumentException("Email is required");
         }
-        if (!email.matches("^[A-Za-z0-9+_.-]+@(.+)$")) {
+        if (!EMAIL_PATTERN.matcher(email).matches()) {
             throw new IllegalArgumentException("Email should be valid");
         }
     }
@@ -84,7 +105,7 @@ public class UserEntity {
         if (phoneNumber == null || phoneNumber.trim().isEmpty()) {
             throw new IllegalArgumentException("Phone number is required");
         }
-        if (!phoneNumber.matches("^[0-9]{10}$")) {
+        if (!PHONE_NUMBER_PATTERN.matcher(phoneNumber).matches()) {
             throw new IllegalArgumentException("Phone number must be 10 digits");
         }
     }
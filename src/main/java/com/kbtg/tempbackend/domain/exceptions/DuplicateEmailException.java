@@ -0,0 +1,18 @@
+package com.kbtg.tempbackend.domain.exceptions;
+
+/**
+ * Duplicate Email Exception - Raised when a user is saved with an email that is already registered
+ */
+public class DuplicateEmailException extends IllegalArgumentException {
+
+    private final String email;
+
+    public DuplicateEmailException(String email) {
+        super("Email already exists");
+        this.email = email;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+}
@@ -1,8 +1,11 @@
 package com.kbtg.tempbackend.domain.repositories;
 
 import com.kbtg.tempbackend.domain.entities.UserEntity;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * User Repository Port - Domain interface for user data access
@@ -15,9 +18,18 @@ public interface UserRepositoryPort {
      * Save a user entity
      * @param user The user to save
      * @return The saved user with generated ID
+     * @throws com.kbtg.tempbackend.domain.exceptions.DuplicateEmailException if another user has the same email
      */
     UserEntity save(UserEntity user);
     
+    /**
+     * Save several users in one transaction; either all are saved or none
+     * @param users The users to save
+     * @return The saved users, in the same order, with generated IDs
+     * @throws com.kbtg.tempbackend.domain.exceptions.DuplicateEmailException if any email is already taken
+     */
+    List<UserEntity> saveAll(List<UserEntity> users);
+    
     /**
      * Find user by email
      * @param email The user's email
@@ -32,6 +44,13 @@ public interface UserRepositoryPort {
      */
     Optional<UserEntity> findById(Long id);
     
+    /**
+     * Find users by ID
+     * @param ids The IDs to look up; duplicates are ignored
+     * @return The users found, in no particular order; missing IDs are simply absent
+     */
+    List<UserEntity> findAllById(Collection<Long> ids);
+    
     /**
      * Check if email exists
      * @param email The email to check
@@ -39,12 +58,35 @@ public interface UserRepositoryPort {
      */
     boolean existsByEmail(String email);
     
+    /**
+     * Find which of the given emails are registered
+     * @param emails The emails to check
+     * @return The subset of emails that exist
+     */
+    Set<String> findExistingEmails(Collection<String> emails);
+    
     /**
      * Get all users
      * @return List of all users
      */
     List<UserEntity> findAll();
     
+    /**
+     * Get one page of users ordered by ID (keyset pagination)
+     * @param afterId Only users with an ID greater than this are returned; null starts from the beginning
+     * @param limit Maximum number of users to return
+     * @return Users in ascending ID order
+     */
+    List<UserEntity> findPage(Long afterId, int limit);
+    
+    /**
+     * Stream all users ordered by ID through a forward-only cursor.
+     * Rows are read as the stream is consumed; the caller must close the stream.
+     * Password hashes are not read, so the returned users have no password.
+     * @return Stream of users in ascending ID order
+     */
+    Stream<UserEntity> streamAll();
+    
     /**
      * Count total number of users
      * @return Total count of users
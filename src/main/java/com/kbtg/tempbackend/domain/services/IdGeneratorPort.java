@@ -0,0 +1,15 @@
+package com.kbtg.tempbackend.domain.services;
+
+/**
+ * Id Generator Port - Domain interface for allocating user IDs before insert
+ * IDs are assigned by the application rather than the database, so new rows
+ * need no key read-back and can be inserted in JDBC batches
+ */
+public interface IdGeneratorPort {
+    
+    /**
+     * Allocate the next user ID
+     * @return A unique, increasing ID that has never been handed out before
+     */
+    long nextId();
+}
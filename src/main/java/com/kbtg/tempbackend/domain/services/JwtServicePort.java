@@ -13,6 +13,14 @@ public interface JwtServicePort {
      */
     String generateToken(String email);
     
+    /**
+     * Generate JWT token carrying the user's id as well as email
+     * @param userId The user's ID
+     * @param email The user's email
+     * @return The generated JWT token
+     */
+    String generateToken(Long userId, String email);
+    
     /**
      * Extract email from JWT token
      * @param token The JWT token
@@ -34,4 +42,11 @@ public interface JwtServicePort {
      * @return true if token is expired, false otherwise
      */
     boolean isTokenExpired(String token);
+    
+    /**
+     * Verify JWT token in a single parse
+     * @param token The JWT token
+     * @return The verification result with subject, expiry and issued-at claims
+     */
+    TokenVerification verifyToken(String token);
 }
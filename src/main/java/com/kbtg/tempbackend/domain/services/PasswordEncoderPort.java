@@ -20,4 +20,20 @@ public interface PasswordEncoderPort {
      * @return true if passwords match, false otherwise
      */
     boolean matches(String rawPassword, String encodedPassword);
+    
+    /**
+     * Check if an encoded password was produced with different settings than
+     * the current ones and should be re-encoded
+     * @param encodedPassword The encoded password
+     * @return true if the password should be re-encoded, false otherwise
+     */
+    boolean needsRehash(String encodedPassword);
+    
+    /**
+     * Check if a value is already an encoded password rather than a raw one,
+     * e.g. a hash carried over from another system
+     * @param password The value to check
+     * @return true if the value is in encoded form, false otherwise
+     */
+    boolean isEncoded(String password);
 }
@@ -0,0 +1,81 @@
+package com.kbtg.tempbackend.domain.services;
+
+import java.time.Instant;
+
+/**
+ * Token Verification - Immutable result of a single JWT verification pass
+ * Carries the verified claims so callers never need to parse the same token again
+ */
+public final class TokenVerification {
+
+    private static final TokenVerification INVALID = new TokenVerification(false, null, null, null, null);
+
+    private final boolean valid;
+    private final String subject;
+    private final Long userId;
+    private final Instant expiresAt;
+    private final Instant issuedAt;
+
+    private TokenVerification(boolean valid, String subject, Long userId, Instant expiresAt, Instant issuedAt) {
+        this.valid = valid;
+        this.subject = subject;
+        this.userId = userId;
+        this.expiresAt = expiresAt;
+        this.issuedAt = issuedAt;
+    }
+
+    /**
+     * Result for a token whose signature and expiry both checked out
+     */
+    public static TokenVerification valid(String subject, Long userId, Instant expiresAt, Instant issuedAt) {
+        return new TokenVerification(true, subject, userId, expiresAt, issuedAt);
+    }
+
+    /**
+     * Result for a correctly signed token that is past its expiry
+     */
+    public static TokenVerification expired(String subject, Long userId, Instant expiresAt, Instant issuedAt) {
+        return new TokenVerification(false, subject, userId, expiresAt, issuedAt);
+    }
+
+    /**
+     * Result for a malformed token or one with a bad signature
+     */
+    public static TokenVerification invalid() {
+        return INVALID;
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    /**
+     * User id claim, or null for tokens issued without one
+     */
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public Instant getIssuedAt() {
+        return issuedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "TokenVerification{" +
+                "valid=" + valid +
+                ", subject='" + subject + '\'' +
+                ", userId=" + userId +
+                ", expiresAt=" + expiresAt +
+                ", issuedAt=" + issuedAt +
+                '}';
+    }
+}
@@ -0,0 +1,340 @@
+package com.kbtg.tempbackend.infrastructure.adapters;
+
+import com.kbtg.tempbackend.domain.entities.UserEntity;
+import com.kbtg.tempbackend.domain.repositories.UserRepositoryPort;
+import com.kbtg.tempbackend.infrastructure.metrics.MetricsRegistry;
+import com.kbtg.tempbackend.infrastructure.metrics.MetricsSource;
+import com.kbtg.tempbackend.infrastructure.logstore.AppendLogUserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Caching User Repository - Read-through cache in front of the user repository adapter
+ * Users found by id or email are kept in a bounded, striped LRU with a TTL, indexed by id
+ * with a secondary email-to-id index. Updates and deletes invalidate the affected user;
+ * new inserts need no invalidation because misses are never cached. Entries are copied
+ * in and out, so callers may modify the users they receive.
+ */
+@Primary
+@Component
+@Profile("!" + AppendLogUserRepository.PROFILE)
+public class CachingUserRepository implements UserRepositoryPort, MetricsSource {
+
+    private static final int STRIPES = 16;
+
+    private final UserRepositoryPort delegate;
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final ConcurrentHashMap<String, Long> emailIndex = new ConcurrentHashMap<>();
+    // Bumped on every invalidation; a load that overlapped one is not cached
+    private final AtomicLong invalidations = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public CachingUserRepository(UserRepositoryAdapter delegate,
+                                 @Value("${users.cache.enabled:true}") boolean enabled,
+                                 @Value("${users.cache.max-entries:10000}") int maxEntries,
+                                 @Value("${users.cache.ttl-seconds:300}") long ttlSeconds) {
+        this(delegate, enabled, maxEntries, TimeUnit.SECONDS.toNanos(ttlSeconds), System::nanoTime);
+    }
+
+    CachingUserRepository(UserRepositoryPort delegate, boolean enabled, int maxEntries,
+                          long ttlNanos, LongSupplier clock) {
+        this.delegate = delegate;
+        this.enabled = enabled;
+        this.ttlNanos = ttlNanos;
+        this.clock = clock;
+        int perStripe = Math.max(1, maxEntries / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+    }
+
+    @Override
+    public UserEntity save(UserEntity user) {
+        UserEntity saved = delegate.save(user);
+        if (user.getId() != null) {
+            invalidate(user.getId());
+        }
+        return saved;
+    }
+
+    @Override
+    public List<UserEntity> saveAll(List<UserEntity> users) {
+        List<UserEntity> saved = delegate.saveAll(users);
+        for (UserEntity user : users) {
+            if (user.getId() != null) {
+                invalidate(user.getId());
+            }
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<UserEntity> findByEmail(String email) {
+        if (!enabled || email == null) {
+            return delegate.findByEmail(email);
+        }
+        Long id = emailIndex.get(email);
+        if (id != null) {
+            UserEntity cached = lookup(id);
+            if (cached != null && email.equals(cached.getEmail())) {
+                hits.increment();
+                return Optional.of(copy(cached));
+            }
+        }
+        misses.increment();
+        return load(() -> delegate.findByEmail(email));
+    }
+
+    @Override
+    public Optional<UserEntity> findById(Long id) {
+        if (!enabled || id == null) {
+            return delegate.findById(id);
+        }
+        UserEntity cached = lookup(id);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(copy(cached));
+        }
+        misses.increment();
+        return load(() -> delegate.findById(id));
+    }
+
+    @Override
+    public List<UserEntity> findAllById(Collection<Long> ids) {
+        if (!enabled) {
+            return delegate.findAllById(ids);
+        }
+        List<UserEntity> users = new ArrayList<>(ids.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            if (id == null) {
+                continue;
+            }
+            UserEntity cached = lookup(id);
+            if (cached != null) {
+                hits.increment();
+                users.add(copy(cached));
+            } else {
+                misses.increment();
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            // Only the misses go to the database, in one query
+            long epoch = invalidations.get();
+            for (UserEntity user : delegate.findAllById(missing)) {
+                put(user, epoch);
+                users.add(user);
+            }
+        }
+        return users;
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        if (enabled && email != null) {
+            Long id = emailIndex.get(email);
+            UserEntity cached = id != null ? lookup(id) : null;
+            if (cached != null && email.equals(cached.getEmail())) {
+                return true;
+            }
+        }
+        return delegate.existsByEmail(email);
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        return delegate.findExistingEmails(emails);
+    }
+
+    @Override
+    public List<UserEntity> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<UserEntity> findPage(Long afterId, int limit) {
+        return delegate.findPage(afterId, limit);
+    }
+
+    @Override
+    public Stream<UserEntity> streamAll() {
+        return delegate.streamAll();
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        delegate.deleteById(id);
+        invalidate(id);
+    }
+
+    @Override
+    public void deleteAll() {
+        delegate.deleteAll();
+        invalidations.incrementAndGet();
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+        emailIndex.clear();
+    }
+
+    private Optional<UserEntity> load(Supplier<Optional<UserEntity>> query) {
+        long epoch = invalidations.get();
+        Optional<UserEntity> loaded = query.get();
+        loaded.ifPresent(user -> {
+            if (user.getId() != null) {
+                put(user, epoch);
+            }
+        });
+        return loaded;
+    }
+
+    private UserEntity lookup(Long id) {
+        Stripe stripe = stripeFor(id);
+        synchronized (stripe) {
+            CachedUser entry = stripe.get(id);
+            if (entry == null) {
+                return null;
+            }
+            if (clock.getAsLong() - entry.expiresAt > 0) {
+                stripe.remove(id);
+                emailIndex.remove(entry.user.getEmail(), id);
+                return null;
+            }
+            return entry.user;
+        }
+    }
+
+    private void put(UserEntity user, long epoch) {
+        CachedUser entry = new CachedUser(copy(user), clock.getAsLong() + ttlNanos);
+        Stripe stripe = stripeFor(user.getId());
+        synchronized (stripe) {
+            // Checked under the lock so an invalidation cannot slip in between check and insert
+            if (invalidations.get() != epoch) {
+                return;
+            }
+            CachedUser previous = stripe.put(user.getId(), entry);
+            // Under the same lock as the entry, so an invalidation cannot leave a stale mapping behind
+            if (previous != null && !previous.user.getEmail().equals(user.getEmail())) {
+                emailIndex.remove(previous.user.getEmail(), user.getId());
+            }
+            emailIndex.put(user.getEmail(), user.getId());
+        }
+    }
+
+    private void invalidate(Long id) {
+        Stripe stripe = stripeFor(id);
+        synchronized (stripe) {
+            invalidations.incrementAndGet();
+            CachedUser removed = stripe.remove(id);
+            if (removed != null) {
+                emailIndex.remove(removed.user.getEmail(), id);
+            }
+        }
+    }
+
+    private Stripe stripeFor(Long id) {
+        return stripes[(Long.hashCode(id) * 0x9E3779B9 >>> 28) & (STRIPES - 1)];
+    }
+
+    private static UserEntity copy(UserEntity user) {
+        return UserEntity.rehydrate(user.getId(), user.getEmail(), user.getPassword(), user.getFirstname(),
+                user.getLastname(), user.getPhoneNumber(), user.getBirthday());
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return Fraction of id and email lookups served from the cache
+     */
+    public double getHitRatio() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    @Override
+    public void bindTo(MetricsRegistry registry) {
+        registry.gauge("users.cache.hits", this::getHitCount);
+        registry.gauge("users.cache.misses", this::getMissCount);
+        registry.gauge("users.cache.evictions", this::getEvictionCount);
+        registry.gauge("users.cache.hit-ratio", this::getHitRatio);
+    }
+
+    // Number of email-to-id mappings; never more than the number of cached users
+    int emailIndexSize() {
+        return emailIndex.size();
+    }
+
+    private static final class CachedUser {
+        private final UserEntity user;
+        private final long expiresAt;
+
+        private CachedUser(UserEntity user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    // Access-ordered map; guarded by its own monitor
+    private final class Stripe extends LinkedHashMap<Long, CachedUser> {
+        private final int capacity;
+
+        private Stripe(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, CachedUser> eldest) {
+            if (size() <= capacity) {
+                return false;
+            }
+            emailIndex.remove(eldest.getValue().user.getEmail(), eldest.getKey());
+            evictions.increment();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.kbtg.tempbackend.infrastructure.adapters;
+
+import com.kbtg.tempbackend.infrastructure.logstore.AppendLogUserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Email Bloom Filter - In-memory set of registered emails that may answer "definitely not"
+ * Built from the users table at startup and updated before every insert. A negative answer
+ * is exact and skips the database; a positive one may be false and must be confirmed
+ * with a query. Until the initial load has finished every email is reported as possible.
+ */
+@Component
+@Profile("!" + AppendLogUserRepository.PROFILE)
+public class EmailBloomFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailBloomFilter.class);
+
+    private final UserJpaRepository jpaRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final LongAdder negatives = new LongAdder();
+    private final LongAdder positives = new LongAdder();
+    private volatile boolean loaded;
+
+    @Autowired
+    public EmailBloomFilter(UserJpaRepository jpaRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${users.email-filter.enabled:true}") boolean enabled,
+                            @Value("${users.email-filter.expected-emails:1000000}") long expectedEmails,
+                            @Value("${users.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this(jpaRepository, readOnly(transactionManager), enabled, expectedEmails, falsePositiveRate);
+    }
+
+    EmailBloomFilter(UserJpaRepository jpaRepository, TransactionTemplate readOnlyTransaction,
+                     boolean enabled, long expectedEmails, double falsePositiveRate) {
+        this.jpaRepository = jpaRepository;
+        this.readOnlyTransaction = readOnlyTransaction;
+        this.enabled = enabled;
+        // Optimal size and hash count for the expected load: m = -n ln p / (ln 2)^2, k = m/n ln 2
+        long n = Math.max(1, expectedEmails);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = enabled ? (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (m + 63) / 64)) : 1;
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = words * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    EmailBloomFilter(boolean enabled, long expectedEmails, double falsePositiveRate) {
+        this(null, (TransactionTemplate) null, enabled, expectedEmails, falsePositiveRate);
+    }
+
+    private static TransactionTemplate readOnly(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        Long count = readOnlyTransaction.execute(status -> {
+            long added = 0;
+            try (Stream<String> emails = jpaRepository.streamAllEmails()) {
+                for (String email : (Iterable<String>) emails::iterator) {
+                    add(email);
+                    added++;
+                }
+            }
+            return added;
+        });
+        markLoaded();
+        log.info("Email filter loaded {} emails into {} KiB ({} hashes) in {} ms",
+                count, bitCount / 8 / 1024, hashCount, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    void markLoaded() {
+        loaded = true;
+    }
+
+    /**
+     * Record an email; call before the row is written so a concurrent check never misses it
+     * @param email The email being registered
+     */
+    public void add(String email) {
+        if (!enabled || email == null) {
+            return;
+        }
+        long hash = hash(email);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + (long) i * h2);
+            long mask = 1L << bit;
+            int word = (int) (bit >>> 6);
+            long current;
+            while (((current = bits.get(word)) & mask) == 0) {
+                if (bits.compareAndSet(word, current, current | mask)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * @param email The email to check
+     * @return false if the email is certainly not registered; true if it may be
+     */
+    public boolean mightContain(String email) {
+        if (!enabled || !loaded || email == null) {
+            return true;
+        }
+        long hash = hash(email);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + (long) i * h2);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                negatives.increment();
+                return false;
+            }
+        }
+        positives.increment();
+        return true;
+    }
+
+    private long index(long combined) {
+        return (combined & Long.MAX_VALUE) % bitCount;
+    }
+
+    // FNV-1a over the UTF-16 chars followed by the MurmurHash3 finalizer; no allocation
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * @return Number of checks answered without the database
+     */
+    public long getNegativeCount() {
+        return negatives.sum();
+    }
+
+    /**
+     * @return Number of checks that had to be confirmed against the database
+     */
+    public long getPositiveCount() {
+        return positives.sum();
+    }
+}
@@ -0,0 +1,160 @@
+package com.kbtg.tempbackend.infrastructure.adapters;
+
+import com.kbtg.tempbackend.domain.services.IdGeneratorPort;
+import com.kbtg.tempbackend.infrastructure.logstore.AppendLogUserRepository;
+import com.kbtg.tempbackend.infrastructure.sqlite.SqliteWriteQueue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hi/Lo Id Generator - Hands out user IDs from blocks reserved in the id_allocator table
+ * One small write reserves block-size IDs, which are then served from memory without locking.
+ * Halfway through a block the next one is reserved in the background on the writer thread,
+ * so inserting threads rarely wait for a reservation. A restart skips the unused remainder
+ * of the reserved blocks. Each reservation also starts past the highest existing users.id,
+ * so IDs never collide with rows written by other means.
+ */
+@Component
+@Profile("!" + AppendLogUserRepository.PROFILE)
+public class HiLoIdGenerator implements IdGeneratorPort {
+
+    private static final String SEQUENCE = "users";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SqliteWriteQueue writeQueue;
+    private final int blockSize;
+
+    private final AtomicReference<Block> current = new AtomicReference<>(new Block(0, 0));
+    // Only the thread replacing an exhausted block takes this
+    private final ReentrantLock refillLock = new ReentrantLock();
+    private volatile CompletableFuture<Long> nextBlock;
+    private volatile boolean tableReady;
+
+    public HiLoIdGenerator(JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           SqliteWriteQueue writeQueue,
+                           @Value("${users.id.block-size:100}") int blockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.writeQueue = writeQueue;
+        this.blockSize = Math.max(1, blockSize);
+    }
+
+    @Override
+    public long nextId() {
+        while (true) {
+            Block block = current.get();
+            long id = block.next.getAndIncrement();
+            if (id < block.limit) {
+                if (id == block.prefetchAt) {
+                    // Exactly one thread sees this id, so the next block is reserved once
+                    reserveNextBlock();
+                }
+                return id;
+            }
+            refill(block);
+        }
+    }
+
+    private void reserveNextBlock() {
+        if (!writeQueue.isEnabled()) {
+            return;
+        }
+        CompletableFuture<Long> reservation = new CompletableFuture<>();
+        try {
+            writeQueue.submit(() -> {
+                try {
+                    reservation.complete(reserveBlock());
+                } catch (RuntimeException e) {
+                    reservation.completeExceptionally(e);
+                }
+            });
+            nextBlock = reservation;
+        } catch (RejectedExecutionException e) {
+            // The block is reserved on demand instead
+        }
+    }
+
+    private void refill(Block exhausted) {
+        refillLock.lock();
+        try {
+            if (current.get() != exhausted) {
+                // Another thread has already replaced it
+                return;
+            }
+            long start = takeNextBlock();
+            current.set(new Block(start, start + blockSize));
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    private long takeNextBlock() {
+        CompletableFuture<Long> reserved = nextBlock;
+        nextBlock = null;
+        if (reserved != null) {
+            try {
+                return reserved.join();
+            } catch (RuntimeException e) {
+                // Reserve again below
+            }
+        }
+        return writeQueue.execute(this::reserveBlock);
+    }
+
+    private long reserveBlock() {
+        return transactionTemplate.execute(status -> {
+            if (!tableReady) {
+                jdbcTemplate.execute("create table if not exists id_allocator ("
+                        + "name varchar(64) not null primary key, next_value bigint not null)");
+                tableReady = true;
+                // The table only exists once the transaction commits, which may be a caller's
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int completionStatus) {
+                        if (completionStatus != STATUS_COMMITTED) {
+                            tableReady = false;
+                        }
+                    }
+                });
+            }
+            Long stored = jdbcTemplate.query("select next_value from id_allocator where name = ?",
+                    rs -> rs.next() ? rs.getLong(1) : null, SEQUENCE);
+            Long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from users", Long.class);
+            long start = Math.max(stored != null ? stored : 1L, maxId + 1);
+            if (stored == null) {
+                jdbcTemplate.update("insert into id_allocator (name, next_value) values (?, ?)",
+                        SEQUENCE, start + blockSize);
+            } else {
+                jdbcTemplate.update("update id_allocator set next_value = ? where name = ?",
+                        start + blockSize, SEQUENCE);
+            }
+            return start;
+        });
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long limit;
+        private final long prefetchAt;
+
+        private Block(long start, long limit) {
+            this.next = new AtomicLong(start);
+            this.limit = limit;
+            this.prefetchAt = start + (limit - start) / 2;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.kbtg.tempbackend.infrastructure.adapters;
+
+import com.kbtg.tempbackend.domain.entities.UserEntity;
+import com.kbtg.tempbackend.infrastructure.logstore.AppendLogUserRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+import org.springframework.jdbc.support.SQLStateSQLExceptionTranslator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JDBC User Reader - Plain JDBC fast path for the hot user lookups
+ * Maps rows straight to UserEntity, with no persistence context, dirty-checking snapshot or
+ * intermediate JPA entity. Each query is prepared once per physical connection and reused
+ * for as long as that connection lives, so SQLite parses and plans it only once.
+ * Writes stay on JPA; this class only reads.
+ */
+@Component
+@Profile("!" + AppendLogUserRepository.PROFILE)
+public class JdbcUserReader {
+
+    private static final String COLUMNS = "id, email, password, firstname, lastname, phone_number, birthday";
+
+    enum Query {
+        FIND_BY_EMAIL("select " + COLUMNS + " from users where email = ?"),
+        FIND_BY_ID("select " + COLUMNS + " from users where id = ?"),
+        EXISTS_BY_EMAIL("select 1 from users where email = ? limit 1"),
+        COUNT("select count(*) from users");
+
+        final String sql;
+
+        Query(String sql) {
+            this.sql = sql;
+        }
+    }
+
+    private final DataSource dataSource;
+    private final SQLExceptionTranslator exceptionTranslator = new SQLStateSQLExceptionTranslator();
+    // Keyed by the physical connection underneath the pool's proxy; a physical connection is
+    // only ever checked out by one thread at a time, so its statements are never shared
+    private final Map<Connection, PreparedStatement[]> statements = new ConcurrentHashMap<>();
+
+    public JdbcUserReader(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public Optional<UserEntity> findByEmail(String email) {
+        return query(Query.FIND_BY_EMAIL, statement -> {
+            statement.setString(1, email);
+            return readUser(statement);
+        });
+    }
+
+    public Optional<UserEntity> findById(Long id) {
+        return query(Query.FIND_BY_ID, statement -> {
+            statement.setLong(1, id);
+            return readUser(statement);
+        });
+    }
+
+    public boolean existsByEmail(String email) {
+        return query(Query.EXISTS_BY_EMAIL, statement -> {
+            statement.setString(1, email);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next();
+            }
+        });
+    }
+
+    public long count() {
+        return query(Query.COUNT, statement -> {
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        });
+    }
+
+    /**
+     * @return Number of physical connections that currently hold prepared statements
+     */
+    public int getCachedConnectionCount() {
+        return statements.size();
+    }
+
+    private static Optional<UserEntity> readUser(PreparedStatement statement) throws SQLException {
+        try (ResultSet rs = statement.executeQuery()) {
+            if (!rs.next()) {
+                return Optional.empty();
+            }
+            // Read back through the driver's own date conversion, the same one Hibernate writes with
+            Date birthday = rs.getDate(7);
+            return Optional.of(UserEntity.rehydrate(rs.getLong(1), rs.getString(2), rs.getString(3),
+                    rs.getString(4), rs.getString(5), rs.getString(6),
+                    birthday != null ? birthday.toLocalDate() : null));
+        }
+    }
+
+    private <T> T query(Query query, StatementCallback<T> callback) {
+        // Joins the current transaction's connection, if any, like JdbcTemplate does
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            PreparedStatement statement = prepared(connection.unwrap(Connection.class), query);
+            try {
+                return callback.doWith(statement);
+            } finally {
+                statement.clearParameters();
+            }
+        } catch (SQLException e) {
+            throw exceptionTranslator.translate(query.name(), query.sql, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private PreparedStatement prepared(Connection physical, Query query) throws SQLException {
+        PreparedStatement[] cached = statements.get(physical);
+        if (cached == null) {
+            // Connections the pool has since retired are dropped whenever a new one shows up
+            statements.keySet().removeIf(JdbcUserReader::isClosed);
+            cached = new PreparedStatement[Query.values().length];
+            statements.put(physical, cached);
+        }
+        PreparedStatement statement = cached[query.ordinal()];
+        if (statement == null || statement.isClosed()) {
+            statement = physical.prepareStatement(query.sql);
+            cached[query.ordinal()] = statement;
+        }
+        return statement;
+    }
+
+    private static boolean isClosed(Connection connection) {
+        try {
+            return connection.isClosed();
+        } catch (SQLException e) {
+            return true;
+        }
+    }
+
+    @FunctionalInterface
+    private interface StatementCallback<T> {
+        T doWith(PreparedStatement statement) throws SQLException;
+    }
+}
@@ -1,6 +1,7 @@
 package com.kbtg.tempbackend.infrastructure.adapters;
 
 import com.kbtg.tempbackend.domain.services.JwtServicePort;
+import com.kbtg.tempbackend.domain.services.TokenVerification;
 import com.kbtg.tempbackend.util.JwtUtil;
 import org.springframework.stereotype.Component;
 
@@ -22,6 +23,11 @@ public class JwtServiceAdapter implements JwtServicePort {
         return jwtUtil.generateToken(email);
     }
     
+    @Override
+    public String generateToken(Long userId, String email) {
+        return jwtUtil.generateToken(userId, email);
+    }
+    
     @Override
     public String extractEmail(String token) {
         return jwtUtil.getUsernameFromToken(token);
@@ -36,4 +42,9 @@ public class JwtServiceAdapter implements JwtServicePort {
     public boolean isTokenExpired(String token) {
         return jwtUtil.isTokenExpired(token);
     }
+    
+    @Override
+    public TokenVerification verifyToken(String token) {
+        return jwtUtil.verifyToken(token);
+    }
 }
@@ -1,9 +1,12 @@
 package com.kbtg.tempbackend.infrastructure.adapters;
 
 import com.kbtg.tempbackend.domain.services.PasswordEncoderPort;
+import com.kbtg.tempbackend.infrastructure.security.BCryptCalibration;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import java.util.regex.Pattern;
+
 /**
  * Password Encoder Adapter - Infrastructure adapter implementing domain password encoder port
  * Bridges between domain layer and Spring Security BCrypt encoder
@@ -11,10 +14,14 @@ import org.springframework.stereotype.Component;
 @Component
 public class PasswordEncoderAdapter implements PasswordEncoderPort {
     
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("^\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}$");
+    
     private final PasswordEncoder springPasswordEncoder;
+    private final int strength;
     
-    public PasswordEncoderAdapter(PasswordEncoder springPasswordEncoder) {
+    public PasswordEncoderAdapter(PasswordEncoder springPasswordEncoder, BCryptCalibration bcryptCalibration) {
         this.springPasswordEncoder = springPasswordEncoder;
+        this.strength = bcryptCalibration.getStrength();
     }
     
     @Override
@@ -26,4 +33,15 @@ public class PasswordEncoderAdapter implements PasswordEncoderPort {
     public boolean matches(String rawPassword, String encodedPassword) {
         return springPasswordEncoder.matches(rawPassword, encodedPassword);
     }
+    
+    @Override
+    public boolean needsRehash(String encodedPassword) {
+        int storedStrength = BCryptCalibration.strengthOf(encodedPassword);
+        return storedStrength > 0 && storedStrength != strength;
+    }
+    
+    @Override
+    public boolean isEncoded(String password) {
+        return password != null && BCRYPT_PATTERN.matcher(password).matches();
+    }
 }
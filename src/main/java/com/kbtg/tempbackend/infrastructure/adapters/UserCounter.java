@@ -0,0 +1,103 @@
+package com.kbtg.tempbackend.infrastructure.adapters;
+
+import com.kbtg.tempbackend.infrastructure.logstore.AppendLogUserRepository;
+import com.kbtg.tempbackend.infrastructure.sqlite.SqliteWriteQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * User Counter - In-memory count of users
+ * Seeded from the database at startup and kept current by the repository adapter on every
+ * insert and delete, so reading the total never touches the database. A scheduled
+ * reconcile corrects any drift, e.g. from rows changed outside this application.
+ */
+@Component
+@Profile("!" + AppendLogUserRepository.PROFILE)
+public class UserCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(UserCounter.class);
+
+    private final LongSupplier countQuery;
+    private final SqliteWriteQueue writeQueue;
+    private final LongAdder count = new LongAdder();
+    private volatile boolean seeded;
+
+    @Autowired
+    public UserCounter(UserJpaRepository jpaRepository, JdbcUserReader jdbcReader,
+                       @Value("${users.read.jdbc.enabled:true}") boolean jdbcReads,
+                       SqliteWriteQueue writeQueue) {
+        this(jdbcReads ? jdbcReader::count : jpaRepository::count, writeQueue);
+    }
+
+    UserCounter(LongSupplier countQuery, SqliteWriteQueue writeQueue) {
+        this.countQuery = countQuery;
+        this.writeQueue = writeQueue;
+    }
+
+    /**
+     * @return Current number of users
+     */
+    public long get() {
+        if (!seeded) {
+            reconcile();
+        }
+        return count.sum();
+    }
+
+    public void increment() {
+        count.increment();
+    }
+
+    public void add(long delta) {
+        count.add(delta);
+    }
+
+    public void decrement() {
+        count.decrement();
+    }
+
+    public void reset() {
+        count.reset();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+
+    /**
+     * Re-read the user count from the database and correct the in-memory value
+     */
+    @Scheduled(fixedDelayString = "${users.count.reconcile-millis:60000}",
+               initialDelayString = "${users.count.reconcile-millis:60000}")
+    public void reconcile() {
+        // On the writer thread no insert or delete can commit between reading and adjusting
+        writeQueue.run(() -> {
+            long before = count.sum();
+            long actual = countQuery.getAsLong();
+            long after = count.sum();
+            if (before != after) {
+                // A write raced with the query; the next reconcile will settle it
+                return;
+            }
+            long drift = actual - after;
+            if (drift != 0) {
+                count.add(drift);
+                if (seeded) {
+                    log.warn("User count drifted by {}; corrected to {}", drift, actual);
+                }
+            }
+            seeded = true;
+        });
+    }
+}
@@ -0,0 +1,258 @@
+package com.kbtg.tempbackend.infrastructure.adapters;
+
+import com.kbtg.tempbackend.infrastructure.entities.UserJpaEntity;
+import com.kbtg.tempbackend.infrastructure.logstore.AppendLogUserRepository;
+import com.kbtg.tempbackend.infrastructure.sqlite.SqliteWriteQueue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * User Insert Batcher - Group commit for new users
+ * Concurrent inserts are collected on the SQLite writer thread for a few milliseconds,
+ * or until the batch is full, and committed in one transaction so a burst of sign-ups
+ * pays for one disk sync instead of one per row; with application-assigned ids Hibernate
+ * also sends the rows as JDBC batches. Each caller blocks until its own row has committed,
+ * failed, or the result timeout has passed. The writer claims a row before its transaction
+ * starts and a caller may only give up on an unclaimed row, so a row whose caller gave up
+ * is never inserted, and a caller whose row is already being committed waits for the outcome.
+ */
+@Component
+@Profile("!" + AppendLogUserRepository.PROFILE)
+public class UserInsertBatcher {
+
+    private final UserJpaRepository jpaRepository;
+    private final SqliteWriteQueue writeQueue;
+    private final UserCounter userCounter;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final long resultTimeoutNanos;
+
+    private final LinkedBlockingQueue<PendingInsert> pending = new LinkedBlockingQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+
+    public UserInsertBatcher(UserJpaRepository jpaRepository,
+                             SqliteWriteQueue writeQueue,
+                             UserCounter userCounter,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${sqlite.insert-batch.enabled:true}") boolean enabled,
+                             @Value("${sqlite.insert-batch.max-size:64}") int maxBatchSize,
+                             @Value("${sqlite.insert-batch.max-delay-millis:2}") long maxDelayMillis,
+                             @Value("${sqlite.insert-batch.result-timeout-millis:30000}") long resultTimeoutMillis) {
+        this.jpaRepository = jpaRepository;
+        this.writeQueue = writeQueue;
+        this.userCounter = userCounter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Batching needs the writer thread, so it follows the SQLite write queue
+        this.enabled = enabled && writeQueue.isEnabled();
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.resultTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(resultTimeoutMillis);
+    }
+
+    /**
+     * @return true if an insert issued now would be batched
+     */
+    public boolean canBatch() {
+        return enabled && !TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    /**
+     * Insert a new user as part of the next group commit
+     * @param entity The new entity to insert, with its id already assigned
+     * @return The saved entity
+     */
+    public UserJpaEntity insert(UserJpaEntity entity) {
+        PendingInsert insert = new PendingInsert(entity);
+        pending.add(insert);
+        if (draining.compareAndSet(false, true)) {
+            try {
+                writeQueue.submit(this::drain);
+            } catch (RuntimeException e) {
+                // No drain is coming for anything queued so far
+                draining.set(false);
+                failPending(e);
+            }
+        }
+        try {
+            insert.result.get(resultTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Too late once the writer has claimed the row; the join below then waits for its commit
+            insert.abandon(new QueryTimeoutException("Timed out waiting for the user insert to commit"));
+        } catch (ExecutionException e) {
+            // Unwrapped below
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            insert.abandon(new IllegalStateException("Interrupted while inserting user", e));
+        }
+        try {
+            return insert.result.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    // Runs on the writer thread
+    private void drain() {
+        do {
+            try {
+                PendingInsert first;
+                while ((first = pending.poll()) != null) {
+                    List<PendingInsert> batch = new ArrayList<>(maxBatchSize);
+                    batch.add(first);
+                    try {
+                        collect(batch);
+                        commit(batch);
+                    } catch (Throwable t) {
+                        // Whatever went wrong, no caller in this batch may be left waiting
+                        fail(batch, t);
+                        if (t instanceof Error) {
+                            throw (Error) t;
+                        }
+                    }
+                }
+            } finally {
+                draining.set(false);
+            }
+            // An insert may have arrived after the last poll but before the flag was cleared
+        } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+    }
+
+    private void collect(List<PendingInsert> batch) {
+        long deadline = System.nanoTime() + maxDelayNanos;
+        try {
+            while (batch.size() < maxBatchSize) {
+                long remaining = deadline - System.nanoTime();
+                PendingInsert next = remaining > 0
+                        ? pending.poll(remaining, TimeUnit.NANOSECONDS)
+                        : pending.poll();
+                if (next == null) {
+                    return;
+                }
+                batch.add(next);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void commit(List<PendingInsert> batch) {
+        // Callers that timed out have already been told their insert failed; the rest can no longer give up
+        batch.removeIf(insert -> !insert.claim());
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<UserJpaEntity> entities = new ArrayList<>(batch.size());
+        for (PendingInsert insert : batch) {
+            entities.add(insert.entity);
+        }
+
+        List<UserJpaEntity> saved;
+        try {
+            saved = transactionTemplate.execute(status -> jpaRepository.saveAll(entities));
+        } catch (RuntimeException e) {
+            // One bad row (e.g. a duplicate email) must not fail its neighbours
+            commitIndividually(batch);
+            return;
+        }
+
+        batches.increment();
+        rows.add(batch.size());
+        // Still on the writer thread, so the count moves together with the commit
+        userCounter.add(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).result.complete(saved.get(i));
+        }
+    }
+
+    private void commitIndividually(List<PendingInsert> batch) {
+        for (PendingInsert insert : batch) {
+            // The failed flush may already have marked it persisted
+            insert.entity.markNew();
+            try {
+                UserJpaEntity saved = transactionTemplate.execute(status -> jpaRepository.save(insert.entity));
+                batches.increment();
+                rows.increment();
+                userCounter.increment();
+                insert.result.complete(saved);
+            } catch (RuntimeException e) {
+                insert.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static void fail(List<PendingInsert> batch, Throwable cause) {
+        for (PendingInsert insert : batch) {
+            insert.result.completeExceptionally(cause);
+        }
+    }
+
+    private void failPending(Throwable cause) {
+        PendingInsert insert;
+        while ((insert = pending.poll()) != null) {
+            insert.result.completeExceptionally(cause);
+        }
+    }
+
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    public long getRowCount() {
+        return rows.sum();
+    }
+
+    /**
+     * @return Number of inserts waiting to be picked up by the writer thread
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private static final class PendingInsert {
+        private final UserJpaEntity entity;
+        private final CompletableFuture<UserJpaEntity> result = new CompletableFuture<>();
+        // Set by whichever side decides the row's fate first: the writer or a caller giving up
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private PendingInsert(UserJpaEntity entity) {
+            this.entity = entity;
+        }
+
+        private boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        private void abandon(RuntimeException cause) {
+            if (claim()) {
+                result.completeExceptionally(cause);
+            }
+        }
+    }
+}
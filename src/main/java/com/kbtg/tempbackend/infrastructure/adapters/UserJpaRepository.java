@@ -1,9 +1,15 @@
 package com.kbtg.tempbackend.infrastructure.adapters;
 
 import com.kbtg.tempbackend.infrastructure.entities.UserJpaEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * User JPA Repository - Spring Data JPA repository interface
@@ -15,4 +21,12 @@ public interface UserJpaRepository extends JpaRepository<UserJpaEntity, Long> {
     Optional<UserJpaEntity> findByEmail(String email);
     
     boolean existsByEmail(String email);
+    
+    @Query("select u.email from UserJpaEntity u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    
+    List<UserJpaEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+    
+    @Query("select u.email from UserJpaEntity u")
+    Stream<String> streamAllEmails();
 }
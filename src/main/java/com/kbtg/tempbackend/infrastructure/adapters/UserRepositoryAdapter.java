@@ -1,49 +1,212 @@
 package com.kbtg.tempbackend.infrastructure.adapters;
 
 import com.kbtg.tempbackend.domain.entities.UserEntity;
+import com.kbtg.tempbackend.domain.exceptions.DuplicateEmailException;
 import com.kbtg.tempbackend.domain.repositories.UserRepositoryPort;
+import com.kbtg.tempbackend.domain.services.IdGeneratorPort;
 import com.kbtg.tempbackend.infrastructure.entities.UserJpaEntity;
+import com.kbtg.tempbackend.infrastructure.logstore.AppendLogUserRepository;
+import com.kbtg.tempbackend.infrastructure.sqlite.SqliteWriteQueue;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * User Repository Adapter - Infrastructure adapter implementing domain repository port
  * Bridges between domain layer and Spring Data JPA
+ * Lookups by email and id go through the plain JDBC reader unless users.read.jdbc.enabled=false
  */
 @Component
+@Profile("!" + AppendLogUserRepository.PROFILE)
 public class UserRepositoryAdapter implements UserRepositoryPort {
     
+    // Keeps each IN list well below SQLite's bound-parameter limit
+    private static final int IN_CLAUSE_CHUNK = 500;
+    
     private final UserJpaRepository jpaRepository;
+    private final SqliteWriteQueue writeQueue;
+    private final UserInsertBatcher insertBatcher;
+    private final UserCounter userCounter;
+    private final EmailBloomFilter emailFilter;
+    private final IdGeneratorPort idGenerator;
+    private final SessionFactory sessionFactory;
+    private final JdbcUserReader jdbcReader;
+    private final boolean jdbcReads;
+    private final int streamFetchSize;
     
-    public UserRepositoryAdapter(UserJpaRepository jpaRepository) {
+    public UserRepositoryAdapter(UserJpaRepository jpaRepository, SqliteWriteQueue writeQueue,
+                                 UserInsertBatcher insertBatcher, UserCounter userCounter,
+                                 EmailBloomFilter emailFilter, IdGeneratorPort idGenerator,
+                                 EntityManagerFactory entityManagerFactory, JdbcUserReader jdbcReader,
+                                 @Value("${users.read.jdbc.enabled:true}") boolean jdbcReads,
+                                 @Value("${users.stream.fetch-size:500}") int streamFetchSize) {
         this.jpaRepository = jpaRepository;
+        this.writeQueue = writeQueue;
+        this.insertBatcher = insertBatcher;
+        this.userCounter = userCounter;
+        this.emailFilter = emailFilter;
+        this.idGenerator = idGenerator;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.jdbcReader = jdbcReader;
+        this.jdbcReads = jdbcReads;
+        this.streamFetchSize = streamFetchSize;
     }
     
     @Override
     public UserEntity save(UserEntity user) {
         UserJpaEntity jpaEntity = new UserJpaEntity(user);
-        UserJpaEntity savedEntity = jpaRepository.save(jpaEntity);
+        boolean isNew = jpaEntity.getId() == null;
+        if (isNew) {
+            jpaEntity.setId(idGenerator.nextId());
+            jpaEntity.markNew();
+        }
+        // Added before the write so a concurrent existence check can never miss this email
+        emailFilter.add(jpaEntity.getEmail());
+        UserJpaEntity savedEntity;
+        try {
+            if (isNew && insertBatcher.canBatch()) {
+                // New rows share a group commit with other concurrent inserts
+                savedEntity = insertBatcher.insert(jpaEntity);
+            } else {
+                // Counted on the writer thread, with the commit, so a reconcile never sees one without the other
+                savedEntity = writeQueue.execute(() -> {
+                    UserJpaEntity saved = jpaRepository.save(jpaEntity);
+                    if (isNew) {
+                        userCounter.increment();
+                    }
+                    return saved;
+                });
+            }
+        } catch (DataAccessException e) {
+            // The unique index on users.email is the authoritative duplicate check; the SQLite dialect
+            // reports it as a generic JDBC error rather than a constraint violation, so match the cause
+            if (isDuplicateEmail(e)) {
+                throw new DuplicateEmailException(user.getEmail());
+            }
+            throw e;
+        }
         return savedEntity.toDomainEntity();
     }
     
+    @Override
+    public List<UserEntity> saveAll(List<UserEntity> users) {
+        List<UserJpaEntity> entities = new ArrayList<>(users.size());
+        int inserts = 0;
+        for (UserEntity user : users) {
+            UserJpaEntity jpaEntity = new UserJpaEntity(user);
+            if (jpaEntity.getId() == null) {
+                jpaEntity.setId(idGenerator.nextId());
+                jpaEntity.markNew();
+                inserts++;
+            }
+            emailFilter.add(jpaEntity.getEmail());
+            entities.add(jpaEntity);
+        }
+        
+        int newRows = inserts;
+        List<UserJpaEntity> saved;
+        try {
+            // One transaction, sent as JDBC batches, and counted on the writer thread that commits it
+            saved = writeQueue.execute(() -> {
+                List<UserJpaEntity> rows = jpaRepository.saveAll(entities);
+                userCounter.add(newRows);
+                return rows;
+            });
+        } catch (DataAccessException e) {
+            if (isDuplicateEmail(e)) {
+                throw new DuplicateEmailException(null);
+            }
+            throw e;
+        }
+        return saved.stream()
+                .map(UserJpaEntity::toDomainEntity)
+                .collect(Collectors.toList());
+    }
+    
+    private static boolean isDuplicateEmail(DataAccessException e) {
+        String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        return message != null && message.contains("UNIQUE") && message.contains("users.email");
+    }
+    
     @Override
     public Optional<UserEntity> findByEmail(String email) {
+        if (useJdbc()) {
+            return jdbcReader.findByEmail(email);
+        }
         return jpaRepository.findByEmail(email)
                 .map(UserJpaEntity::toDomainEntity);
     }
     
     @Override
     public Optional<UserEntity> findById(Long id) {
+        if (useJdbc()) {
+            return jdbcReader.findById(id);
+        }
         return jpaRepository.findById(id)
                 .map(UserJpaEntity::toDomainEntity);
     }
     
+    @Override
+    public List<UserEntity> findAllById(Collection<Long> ids) {
+        List<Long> distinct = new ArrayList<>(new HashSet<>(ids));
+        distinct.remove(null);
+        List<UserEntity> users = new ArrayList<>(distinct.size());
+        for (int from = 0; from < distinct.size(); from += IN_CLAUSE_CHUNK) {
+            List<Long> chunk = distinct.subList(from, Math.min(from + IN_CLAUSE_CHUNK, distinct.size()));
+            for (UserJpaEntity entity : jpaRepository.findAllById(chunk)) {
+                users.add(entity.toDomainEntity());
+            }
+        }
+        return users;
+    }
+    
     @Override
     public boolean existsByEmail(String email) {
-        return jpaRepository.existsByEmail(email);
+        // Most checks are for unregistered emails; the filter answers those without a query
+        if (!emailFilter.mightContain(email)) {
+            return false;
+        }
+        return useJdbc() ? jdbcReader.existsByEmail(email) : jpaRepository.existsByEmail(email);
+    }
+    
+    // Inside a transaction the persistence context may hold changes not yet flushed,
+    // which only a JPA query would see
+    private boolean useJdbc() {
+        return jdbcReads && !TransactionSynchronizationManager.isActualTransactionActive();
+    }
+    
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        // Only emails the filter cannot rule out need to be queried
+        List<String> candidates = new ArrayList<>();
+        for (String email : new HashSet<>(emails)) {
+            if (email != null && emailFilter.mightContain(email)) {
+                candidates.add(email);
+            }
+        }
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < candidates.size(); from += IN_CLAUSE_CHUNK) {
+            List<String> chunk = candidates.subList(from, Math.min(from + IN_CLAUSE_CHUNK, candidates.size()));
+            existing.addAll(jpaRepository.findExistingEmails(chunk));
+        }
+        return existing;
     }
     
     @Override
@@ -53,18 +216,58 @@ public class UserRepositoryAdapter implements UserRepositoryPort {
                 .collect(Collectors.toList());
     }
     
+    @Override
+    public List<UserEntity> findPage(Long afterId, int limit) {
+        return jpaRepository.findByIdGreaterThanOrderByIdAsc(afterId != null ? afterId : 0L, Limit.of(limit))
+                .stream()
+                .map(UserJpaEntity::toDomainEntity)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public Stream<UserEntity> streamAll() {
+        // A stateless session keeps no persistence context and the result stream is backed by a
+        // forward-only cursor, so memory stays flat however many rows are read; the projection
+        // leaves the password column out of the query altogether
+        StatelessSession session = sessionFactory.openStatelessSession();
+        try {
+            return session.createSelectionQuery(
+                        "select u.id, u.email, u.firstname, u.lastname, u.phoneNumber, u.birthday "
+                            + "from UserJpaEntity u order by u.id", Object[].class)
+                    .setFetchSize(streamFetchSize)
+                    .setReadOnly(true)
+                    .getResultStream()
+                    .map(UserRepositoryAdapter::fromProjection)
+                    .onClose(session::close);
+        } catch (RuntimeException e) {
+            session.close();
+            throw e;
+        }
+    }
+    
+    private static UserEntity fromProjection(Object[] row) {
+        return UserEntity.rehydrate((Long) row[0], (String) row[1], null, (String) row[2],
+                (String) row[3], (String) row[4], (LocalDate) row[5]);
+    }
+    
     @Override
     public long count() {
-        return jpaRepository.count();
+        return userCounter.get();
     }
     
     @Override
     public void deleteById(Long id) {
-        jpaRepository.deleteById(id);
+        writeQueue.run(() -> jpaRepository.findById(id).ifPresent(entity -> {
+            jpaRepository.delete(entity);
+            userCounter.decrement();
+        }));
     }
     
     @Override
     public void deleteAll() {
-        jpaRepository.deleteAll();
+        writeQueue.run(() -> {
+            jpaRepository.deleteAll();
+            userCounter.reset();
+        });
     }
 }
@@ -2,6 +2,7 @@ package com.kbtg.tempbackend.infrastructure.entities;
 
 import com.kbtg.tempbackend.domain.entities.UserEntity;
 import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
 import java.time.LocalDate;
 
 /**
@@ -11,10 +12,10 @@ import java.time.LocalDate;
  */
 @Entity
 @Table(name = "users")
-public class UserJpaEntity {
+public class UserJpaEntity implements Persistable<Long> {
     
+    // Assigned by the application (see IdGeneratorPort) so inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
     @Column(unique = true, nullable = false)
@@ -34,6 +35,10 @@ public class UserJpaEntity {
     
     @Column(nullable = false)
     private LocalDate birthday;
+    
+    // With a pre-assigned id, Spring Data cannot tell a new row from an existing one by itself
+    @Transient
+    private boolean isNew;
 
     // Default constructor (required by JPA)
     public UserJpaEntity() {}
@@ -54,7 +59,8 @@ public class UserJpaEntity {
      * @return UserEntity domain object
      */
     public UserEntity toDomainEntity() {
-        return new UserEntity(id, email, password, firstname, lastname, phoneNumber, birthday);
+        // Stored rows were validated on the way in
+        return UserEntity.rehydrate(id, email, password, firstname, lastname, phoneNumber, birthday);
     }
 
     /**
@@ -71,6 +77,25 @@ public class UserJpaEntity {
     }
 
     // Getters and Setters (required by JPA)
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+    
+    /**
+     * Mark this entity as not yet stored, so saving it inserts rather than merges
+     */
+    public void markNew() {
+        this.isNew = true;
+    }
+    
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.isNew = false;
+    }
+
+    @Override
     public Long getId() {
         return id;
     }
@@ -0,0 +1,373 @@
+package com.kbtg.tempbackend.infrastructure.logstore;
+
+import com.kbtg.tempbackend.domain.entities.UserEntity;
+import com.kbtg.tempbackend.domain.exceptions.DuplicateEmailException;
+import com.kbtg.tempbackend.domain.repositories.UserRepositoryPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Append Log User Repository - User storage in a memory-mapped append-only log
+ * An alternative to the JPA adapter for read-heavy workloads, enabled with the
+ * {@value #PROFILE} Spring profile. Every write appends a record to the log; id and
+ * email hash indexes map each live user to the offset of its latest record, so reads
+ * are an index lookup and a decode from mapped memory without touching the database.
+ * The log is replayed on startup to rebuild the indexes, and rewritten without
+ * superseded records once enough of it is dead.
+ * Reads share a read lock; writes, growth of the mapping and compaction take the write lock.
+ */
+@Component
+@Profile(AppendLogUserRepository.PROFILE)
+public class AppendLogUserRepository implements UserRepositoryPort, DisposableBean {
+
+    public static final String PROFILE = "logstore";
+
+    private static final Logger log = LoggerFactory.getLogger(AppendLogUserRepository.class);
+
+    private final int initialCapacity;
+    private final long compactionMinDeadBytes;
+    private final double compactionDeadRatio;
+    private final MappedUserLog.FileReplacer replacer;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock readLock = lock.readLock();
+    private final Lock writeLock = lock.writeLock();
+    // Both indexes point at the latest PUT record of each live user
+    private final ConcurrentSkipListMap<Long, Integer> idIndex = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<String, Integer> emailIndex = new ConcurrentHashMap<>();
+    // Size of the id index, which a skip list can only report by walking it; changed under the write lock
+    private final AtomicLong liveUsers = new AtomicLong();
+    private final AtomicLong compactions = new AtomicLong();
+
+    // Guarded by the write lock
+    private MappedUserLog userLog;
+    private long nextId;
+    private long deadBytes;
+
+    @Autowired
+    public AppendLogUserRepository(@Value("${users.logstore.path:data/users.log}") String path,
+                                   @Value("${users.logstore.initial-capacity:16777216}") int initialCapacity,
+                                   @Value("${users.logstore.fsync:true}") boolean fsync,
+                                   @Value("${users.logstore.compaction.min-dead-bytes:8388608}") long compactionMinDeadBytes,
+                                   @Value("${users.logstore.compaction.dead-ratio:0.5}") double compactionDeadRatio)
+            throws IOException {
+        this(Path.of(path), initialCapacity, fsync, compactionMinDeadBytes, compactionDeadRatio);
+    }
+
+    AppendLogUserRepository(Path path, int initialCapacity, boolean fsync, long compactionMinDeadBytes,
+                            double compactionDeadRatio) throws IOException {
+        this(path, initialCapacity, fsync, compactionMinDeadBytes, compactionDeadRatio, MappedUserLog.ATOMIC_MOVE);
+    }
+
+    AppendLogUserRepository(Path path, int initialCapacity, boolean fsync, long compactionMinDeadBytes,
+                            double compactionDeadRatio, MappedUserLog.FileReplacer replacer) throws IOException {
+        this.initialCapacity = initialCapacity;
+        this.replacer = replacer;
+        this.compactionMinDeadBytes = compactionMinDeadBytes;
+        this.compactionDeadRatio = compactionDeadRatio;
+
+        long start = System.nanoTime();
+        this.userLog = MappedUserLog.open(path, initialCapacity, fsync, this::replay);
+        this.nextId = Math.max(nextId, Math.max(1, userLog.getIdFloor()));
+        log.info("User log {} replayed: {} users, {} KiB ({} KiB dead) in {} ms", path.toAbsolutePath(),
+                liveUsers.get(), userLog.size() / 1024, deadBytes / 1024, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Called for each record while the log is opened
+    private void replay(MappedUserLog replayed, int offset, byte type, long id) {
+        nextId = Math.max(nextId, id + 1);
+        if (type == MappedUserLog.PUT) {
+            index(replayed, id, replayed.readEmail(offset), offset);
+        } else {
+            unindex(replayed, id);
+            deadBytes += replayed.recordLength(offset);
+        }
+    }
+
+    @Override
+    public UserEntity save(UserEntity user) {
+        return saveAll(List.of(user)).get(0);
+    }
+
+    @Override
+    public List<UserEntity> saveAll(List<UserEntity> users) {
+        writeLock.lock();
+        try {
+            // Check every user before appending anything, so the batch is all or nothing
+            List<UserEntity> stored = new ArrayList<>(users.size());
+            Map<String, Long> batchEmails = new HashMap<>();
+            long id = nextId;
+            for (UserEntity user : users) {
+                long userId = user.getId() != null ? user.getId() : id++;
+                Long previous = batchEmails.put(user.getEmail(), userId);
+                Integer existing = emailIndex.get(user.getEmail());
+                if ((previous != null && previous != userId)
+                        || (existing != null && userLog.readId(existing) != userId)) {
+                    throw new DuplicateEmailException(user.getEmail());
+                }
+                stored.add(UserEntity.rehydrate(userId, user.getEmail(), user.getPassword(), user.getFirstname(),
+                        user.getLastname(), user.getPhoneNumber(), user.getBirthday()));
+            }
+
+            List<byte[]> records = new ArrayList<>(stored.size());
+            for (UserEntity user : stored) {
+                records.add(MappedUserLog.encodePut(user));
+            }
+            int[] offsets = userLog.appendAll(records);
+            for (int i = 0; i < offsets.length; i++) {
+                UserEntity user = stored.get(i);
+                index(userLog, user.getId(), user.getEmail(), offsets[i]);
+                nextId = Math.max(nextId, user.getId() + 1);
+            }
+            return stored;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void index(MappedUserLog target, long id, String email, int offset) {
+        Integer previous = idIndex.put(id, offset);
+        if (previous != null) {
+            // The user's earlier record is now dead; drop its email unless it is unchanged
+            emailIndex.remove(target.readEmail(previous), previous);
+            deadBytes += target.recordLength(previous);
+        } else {
+            liveUsers.incrementAndGet();
+        }
+        emailIndex.put(email, offset);
+    }
+
+    private void unindex(MappedUserLog target, long id) {
+        Integer previous = idIndex.remove(id);
+        if (previous != null) {
+            liveUsers.decrementAndGet();
+            emailIndex.remove(target.readEmail(previous), previous);
+            deadBytes += target.recordLength(previous);
+        }
+    }
+
+    @Override
+    public Optional<UserEntity> findByEmail(String email) {
+        return Optional.ofNullable(read(emailIndex, email, true));
+    }
+
+    @Override
+    public Optional<UserEntity> findById(Long id) {
+        return Optional.ofNullable(read(idIndex, id, true));
+    }
+
+    private <K> UserEntity read(Map<K, Integer> index, K key, boolean withPassword) {
+        if (key == null) {
+            return null;
+        }
+        readLock.lock();
+        try {
+            Integer offset = index.get(key);
+            return offset != null ? userLog.readUser(offset, withPassword) : null;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public List<UserEntity> findAllById(Collection<Long> ids) {
+        readLock.lock();
+        try {
+            List<UserEntity> users = new ArrayList<>();
+            for (Long id : new HashSet<>(ids)) {
+                Integer offset = id != null ? idIndex.get(id) : null;
+                if (offset != null) {
+                    users.add(userLog.readUser(offset, true));
+                }
+            }
+            return users;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return email != null && emailIndex.containsKey(email);
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        Set<String> existing = new HashSet<>();
+        for (String email : emails) {
+            if (existsByEmail(email)) {
+                existing.add(email);
+            }
+        }
+        return existing;
+    }
+
+    @Override
+    public List<UserEntity> findAll() {
+        return readPage(idIndex, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<UserEntity> findPage(Long afterId, int limit) {
+        return readPage(afterId != null ? idIndex.tailMap(afterId, false) : idIndex, limit);
+    }
+
+    private List<UserEntity> readPage(NavigableMap<Long, Integer> range, int limit) {
+        readLock.lock();
+        try {
+            List<UserEntity> users = new ArrayList<>(Math.min(limit, range.size()));
+            for (Integer offset : range.values()) {
+                if (users.size() == limit) {
+                    break;
+                }
+                users.add(userLog.readUser(offset, true));
+            }
+            return users;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public Stream<UserEntity> streamAll() {
+        // Walks the live id index without holding the lock between rows, so a slow reader never blocks writers
+        return idIndex.keySet().stream()
+                .map(id -> read(idIndex, id, false))
+                .filter(Objects::nonNull);
+    }
+
+    @Override
+    public long count() {
+        return liveUsers.get();
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        writeLock.lock();
+        try {
+            if (id != null && idIndex.containsKey(id)) {
+                int offset = userLog.append(MappedUserLog.encodeDelete(id));
+                unindex(userLog, id);
+                deadBytes += userLog.recordLength(offset);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        writeLock.lock();
+        try {
+            rewrite(List.of());
+            idIndex.clear();
+            emailIndex.clear();
+            liveUsers.set(0);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Compact the log if enough of it is taken by superseded or deleted records
+     */
+    @Scheduled(fixedDelayString = "${users.logstore.compaction.check-millis:60000}")
+    public void compactIfNeeded() {
+        writeLock.lock();
+        try {
+            if (deadBytes >= compactionMinDeadBytes && deadBytes >= userLog.size() * compactionDeadRatio) {
+                compact();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Rewrite the log with only the latest record of each live user
+     */
+    public void compact() {
+        writeLock.lock();
+        try {
+            long start = System.nanoTime();
+            int before = userLog.size();
+            // Keep log order so a replay of the new file sees the same history
+            List<Integer> live = new ArrayList<>(idIndex.values());
+            live.sort(null);
+            MappedUserLog previous = userLog;
+            rewrite(live);
+
+            // Records were packed in order; the old mapping is still readable, so the indexes are
+            // moved to the new offsets in place instead of being cleared and rebuilt
+            int offset = MappedUserLog.firstRecordOffset();
+            for (int oldOffset : live) {
+                idIndex.put(previous.readId(oldOffset), offset);
+                emailIndex.put(previous.readEmail(oldOffset), offset);
+                offset += previous.recordLength(oldOffset);
+            }
+            compactions.incrementAndGet();
+            log.info("User log compacted from {} KiB to {} KiB in {} ms", before / 1024, userLog.size() / 1024,
+                    (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void rewrite(List<Integer> liveOffsets) {
+        try {
+            userLog = userLog.rewrite(liveOffsets, nextId, initialCapacity, replacer);
+            deadBytes = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to rewrite user log", e);
+        }
+    }
+
+    public long getDeadBytes() {
+        writeLock.lock();
+        try {
+            return deadBytes;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public long getCompactionCount() {
+        return compactions.get();
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        writeLock.lock();
+        try {
+            userLog.close();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,411 @@
+package com.kbtg.tempbackend.infrastructure.logstore;
+
+import com.kbtg.tempbackend.domain.entities.UserEntity;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Mapped User Log - Append-only file of user records accessed through a memory mapping
+ * The file starts with a header (magic, version, lowest unused id) followed by records:
+ * <pre>
+ * int length | byte type | long id | [long birthday | 5 x (short length, UTF-8 bytes)] | int crc32c
+ * </pre>
+ * A PUT record holds the whole user; a DELETE record holds only the id. The file is
+ * pre-extended and zero-filled, and a zero length marks the end of the log. On open the
+ * records are replayed in order and replay stops at the first record whose length or
+ * checksum is invalid, which drops a write torn by a crash. A log whose rewrite failed
+ * after its file was replaced cannot be written to any more. Not thread-safe; the
+ * repository serialises access.
+ */
+final class MappedUserLog implements Closeable {
+
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+
+    private static final int MAGIC = 0x55534C47;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int ID_FLOOR_OFFSET = 8;
+    // length, type, id, checksum
+    private static final int RECORD_OVERHEAD = 4 + 1 + 8 + 4;
+    private static final int PAYLOAD_OFFSET = 4 + 1 + 8;
+    private static final int EMAIL_OFFSET = PAYLOAD_OFFSET + 8;
+    private static final int END_MARKER_SIZE = 4;
+    // A single mapping is addressed with int offsets
+    private static final long MAX_SIZE = Integer.MAX_VALUE;
+    private static final long NO_BIRTHDAY = Long.MIN_VALUE;
+
+    /**
+     * Receives each valid record during replay
+     */
+    interface RecordVisitor {
+        void visit(MappedUserLog log, int offset, byte type, long id);
+    }
+
+    /**
+     * Puts a rewritten file in place of the log
+     */
+    interface FileReplacer {
+        void replace(Path source, Path target) throws IOException;
+    }
+
+    static final FileReplacer ATOMIC_MOVE = (source, target) ->
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+    private final Path path;
+    private final boolean fsync;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int end;
+    // Set when a rewrite replaced the file but the new log could not be opened
+    private boolean failed;
+
+    private MappedUserLog(Path path, boolean fsync, FileChannel channel, MappedByteBuffer buffer) {
+        this.path = path;
+        this.fsync = fsync;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Open the log, creating it if missing, and replay every valid record
+     * @param path The log file
+     * @param initialCapacity Bytes to map up front; the mapping grows by doubling
+     * @param fsync Whether each append is forced to disk before returning
+     * @param visitor Receives each record in log order
+     */
+    static MappedUserLog open(Path path, int initialCapacity, boolean fsync, RecordVisitor visitor) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        // Left behind by a compaction that did not finish; the log itself is intact
+        Files.deleteIfExists(compactionFile(path));
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            boolean created = channel.size() == 0;
+            long capacity = Math.max(channel.size(), Math.max(initialCapacity, HEADER_SIZE + END_MARKER_SIZE));
+            MappedUserLog log = new MappedUserLog(path, fsync, channel,
+                    channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity));
+            if (created) {
+                log.writeHeader(0);
+                log.end = HEADER_SIZE;
+                log.buffer.force();
+            } else {
+                log.checkHeader();
+                log.replay(visitor);
+            }
+            return log;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void writeHeader(long idFloor) {
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putLong(ID_FLOOR_OFFSET, idFloor);
+    }
+
+    private void checkHeader() throws IOException {
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a user log: " + path);
+        }
+    }
+
+    private void replay(RecordVisitor visitor) {
+        int position = HEADER_SIZE;
+        int capacity = buffer.capacity();
+        while (position + RECORD_OVERHEAD <= capacity) {
+            int length = buffer.getInt(position);
+            if (length < RECORD_OVERHEAD || length > capacity - position || !checksumMatches(position, length)) {
+                break;
+            }
+            visitor.visit(this, position, buffer.get(position + 4), buffer.getLong(position + 5));
+            position += length;
+        }
+        end = position;
+        // Anything past the last valid record is a torn write; make sure it is never replayed
+        if (end + END_MARKER_SIZE <= capacity) {
+            buffer.putInt(end, 0);
+        }
+    }
+
+    private boolean checksumMatches(int offset, int length) {
+        int stored = buffer.getInt(offset + length - 4);
+        // Covers everything between the length and the checksum itself
+        return stored == checksum(buffer.slice(offset + 4, length - 8));
+    }
+
+    private static int checksum(ByteBuffer data) {
+        CRC32C crc = new CRC32C();
+        crc.update(data);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Encode a user as a PUT record
+     * @throws IllegalArgumentException if a field is too long to store
+     */
+    static byte[] encodePut(UserEntity user) {
+        byte[][] fields = {
+            bytes(user.getEmail()),
+            bytes(user.getPassword()),
+            bytes(user.getFirstname()),
+            bytes(user.getLastname()),
+            bytes(user.getPhoneNumber())
+        };
+        int length = RECORD_OVERHEAD + 8;
+        for (byte[] field : fields) {
+            length += 2 + (field != null ? field.length : 0);
+        }
+        ByteBuffer record = ByteBuffer.allocate(length);
+        record.putInt(length).put(PUT).putLong(user.getId());
+        record.putLong(user.getBirthday() != null ? user.getBirthday().toEpochDay() : NO_BIRTHDAY);
+        for (byte[] field : fields) {
+            if (field == null) {
+                record.putShort((short) -1);
+            } else {
+                record.putShort((short) field.length).put(field);
+            }
+        }
+        return seal(record);
+    }
+
+    /**
+     * Encode a DELETE record for a user id
+     */
+    static byte[] encodeDelete(long id) {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_OVERHEAD);
+        record.putInt(RECORD_OVERHEAD).put(DELETE).putLong(id);
+        return seal(record);
+    }
+
+    private static byte[] seal(ByteBuffer record) {
+        int crc = checksum(ByteBuffer.wrap(record.array(), 4, record.capacity() - 8));
+        record.putInt(crc);
+        return record.array();
+    }
+
+    private static byte[] bytes(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Field too long to store: " + bytes.length + " bytes");
+        }
+        return bytes;
+    }
+
+    /**
+     * Append a record
+     * @return The record's offset
+     */
+    int append(byte[] record) {
+        return appendAll(List.of(record))[0];
+    }
+
+    /**
+     * Append several records with a single sync
+     * @return The records' offsets, in order
+     */
+    int[] appendAll(List<byte[]> records) {
+        checkWritable();
+        long total = 0;
+        for (byte[] record : records) {
+            total += record.length;
+        }
+        ensureCapacity(end + total + END_MARKER_SIZE);
+
+        int start = end;
+        int[] offsets = new int[records.size()];
+        for (int i = 0; i < offsets.length; i++) {
+            byte[] record = records.get(i);
+            offsets[i] = end;
+            buffer.put(end, record);
+            end += record.length;
+        }
+        buffer.putInt(end, 0);
+        if (fsync) {
+            buffer.force(start, end + END_MARKER_SIZE - start);
+        }
+        return offsets;
+    }
+
+    private void checkWritable() {
+        if (failed) {
+            throw new IllegalStateException("User log " + path + " is read-only after a failed rewrite; restart to reopen it");
+        }
+    }
+
+    private void ensureCapacity(long required) {
+        int capacity = buffer.capacity();
+        if (required <= capacity) {
+            return;
+        }
+        if (required > MAX_SIZE) {
+            throw new IllegalStateException("User log is full: " + path);
+        }
+        long grown = Math.min(MAX_SIZE, Math.max(required, 2L * capacity));
+        try {
+            // Mapping past the end of the file extends it with zeros
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, grown);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to grow user log " + path, e);
+        }
+    }
+
+    long readId(int offset) {
+        return buffer.getLong(offset + 5);
+    }
+
+    int recordLength(int offset) {
+        return buffer.getInt(offset);
+    }
+
+    String readEmail(int offset) {
+        return readString(offset + EMAIL_OFFSET);
+    }
+
+    /**
+     * Decode the user in a PUT record
+     * @param withPassword Whether to decode the password hash as well
+     */
+    UserEntity readUser(int offset, boolean withPassword) {
+        long epochDay = buffer.getLong(offset + PAYLOAD_OFFSET);
+        int position = offset + EMAIL_OFFSET;
+        String[] fields = new String[5];
+        for (int i = 0; i < fields.length; i++) {
+            short length = buffer.getShort(position);
+            if (i != 1 || withPassword) {
+                fields[i] = readString(position);
+            }
+            position += 2 + Math.max(0, length);
+        }
+        return UserEntity.rehydrate(readId(offset), fields[0], fields[1], fields[2], fields[3], fields[4],
+                epochDay == NO_BIRTHDAY ? null : LocalDate.ofEpochDay(epochDay));
+    }
+
+    private String readString(int position) {
+        short length = buffer.getShort(position);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(position + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    long getIdFloor() {
+        return buffer.getLong(ID_FLOOR_OFFSET);
+    }
+
+    /**
+     * @return Bytes used by the header and all records
+     */
+    int size() {
+        return end;
+    }
+
+    /**
+     * Write the given records to a new file and atomically replace this log with it
+     * The records keep their order and are packed after the header, so the caller can
+     * work out their new offsets. This log's channel is closed but its mapping stays
+     * readable; use the returned log for everything else. If the file cannot be replaced
+     * this log is reopened and stays usable; if the replaced file cannot be opened this
+     * log only serves reads.
+     * @param liveOffsets Offsets of the records to keep, in log order
+     * @param idFloor Lowest id never handed out, so ids of dropped users are not reused
+     * @param initialCapacity Minimum bytes to map for the new log
+     * @param replacer Moves the rewritten file over the log
+     */
+    MappedUserLog rewrite(List<Integer> liveOffsets, long idFloor, int initialCapacity, FileReplacer replacer)
+            throws IOException {
+        checkWritable();
+        Path target = compactionFile(path);
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putLong(idFloor).flip();
+            writeFully(out, header);
+            for (int offset : liveOffsets) {
+                writeFully(out, buffer.slice(offset, recordLength(offset)));
+            }
+            out.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(target);
+            throw e;
+        }
+        close();
+        try {
+            replacer.replace(target, path);
+        } catch (IOException | RuntimeException e) {
+            // The original file is untouched, so the offsets held by the caller still match it
+            reopen(e);
+            try {
+                Files.deleteIfExists(target);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+        try {
+            return open(path, initialCapacity, fsync, (log, offset, type, id) -> { });
+        } catch (IOException | RuntimeException e) {
+            // The file now holds the rewritten records, which this log's offsets do not describe
+            failed = true;
+            throw e;
+        }
+    }
+
+    private void reopen(Exception cause) {
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, buffer.capacity());
+        } catch (IOException | RuntimeException e) {
+            cause.addSuppressed(e);
+            failed = true;
+        }
+    }
+
+    /**
+     * @return Offset of the first record, which is where a rewritten log starts
+     */
+    static int firstRecordOffset() {
+        return HEADER_SIZE;
+    }
+
+    private static void writeFully(FileChannel out, ByteBuffer data) throws IOException {
+        while (data.hasRemaining()) {
+            out.write(data);
+        }
+    }
+
+    private static Path compactionFile(Path path) {
+        return path.resolveSibling(path.getFileName() + ".compact");
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel.isOpen()) {
+            buffer.force();
+            channel.close();
+        }
+    }
+}
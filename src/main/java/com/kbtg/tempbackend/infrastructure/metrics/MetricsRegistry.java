@@ -0,0 +1,60 @@
+package com.kbtg.tempbackend.infrastructure.metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
+
+/**
+ * Metrics Registry - Named gauges over the counters components already keep
+ * Nothing is recorded here; each gauge reads its owner's value when a snapshot is taken,
+ * so the hot paths pay nothing extra. Snapshots are served by GET /api/metrics.
+ */
+@Component
+public class MetricsRegistry {
+
+    private final Map<String, Supplier<? extends Number>> gauges = new ConcurrentSkipListMap<>();
+
+    public MetricsRegistry() {
+    }
+
+    @Autowired
+    public MetricsRegistry(ObjectProvider<MetricsSource> sources) {
+        sources.orderedStream().forEach(this::bind);
+    }
+
+    /**
+     * Register every gauge of a source
+     * @param source The source to bind
+     * @return This registry
+     */
+    public MetricsRegistry bind(MetricsSource source) {
+        source.bindTo(this);
+        return this;
+    }
+
+    /**
+     * Register a gauge
+     * @param name Dotted metric name, e.g. {@code auth.token-cache.hits}
+     * @param value Read each time a snapshot is taken
+     * @throws IllegalStateException if the name is already registered
+     */
+    public void gauge(String name, Supplier<? extends Number> value) {
+        if (gauges.putIfAbsent(name, value) != null) {
+            throw new IllegalStateException("Metric already registered: " + name);
+        }
+    }
+
+    /**
+     * @return Current value of every gauge, keyed by name in alphabetical order
+     */
+    public Map<String, Number> snapshot() {
+        Map<String, Number> values = new LinkedHashMap<>();
+        gauges.forEach((name, value) -> values.put(name, value.get()));
+        return values;
+    }
+}
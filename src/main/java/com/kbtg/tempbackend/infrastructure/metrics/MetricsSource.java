@@ -0,0 +1,15 @@
+package com.kbtg.tempbackend.infrastructure.metrics;
+
+/**
+ * Metrics Source - Registers a component's metrics with the registry
+ * Every bean of this type is bound once, when the registry is created.
+ */
+@FunctionalInterface
+public interface MetricsSource {
+
+    /**
+     * Register this source's gauges
+     * @param registry The registry to register with
+     */
+    void bindTo(MetricsRegistry registry);
+}
@@ -0,0 +1,42 @@
+package com.kbtg.tempbackend.infrastructure.security;
+
+import java.security.Principal;
+
+/**
+ * Authenticated User - Security principal placed in the Spring Security context
+ * Holds only the identity needed downstream, never the password hash
+ */
+public final class AuthenticatedUser implements Principal {
+
+    private final Long id;
+    private final String email;
+
+    public AuthenticatedUser(Long id, String email) {
+        this.id = id;
+        this.email = email;
+    }
+
+    /**
+     * @return The user's ID, or null when the token carried no id claim
+     */
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser{" +
+                "id=" + id +
+                ", email='" + email + '\'' +
+                '}';
+    }
+}
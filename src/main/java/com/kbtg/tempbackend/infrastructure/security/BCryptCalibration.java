@@ -0,0 +1,110 @@
+package com.kbtg.tempbackend.infrastructure.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Arrays;
+
+/**
+ * BCrypt Calibration - Cost factor chosen for the hardware the service runs on
+ * Each extra cost step doubles the hashing time, so the cost is extrapolated from
+ * a measurement at the minimum cost and capped so one hash stays within the target.
+ */
+public final class BCryptCalibration {
+
+    static final int MAX_STRENGTH = 31;
+    private static final int SAMPLES = 3;
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+
+    private final int strength;
+    private final long targetMillis;
+    private final double measuredMillis;
+
+    private BCryptCalibration(int strength, long targetMillis, double measuredMillis) {
+        this.strength = strength;
+        this.targetMillis = targetMillis;
+        this.measuredMillis = measuredMillis;
+    }
+
+    /**
+     * Use a pinned cost factor without measuring
+     * @param strength The BCrypt cost factor
+     * @return Calibration with no measurement attached
+     */
+    public static BCryptCalibration fixed(int strength) {
+        return new BCryptCalibration(strength, 0, 0);
+    }
+
+    /**
+     * Pick the highest cost whose estimated hash time stays within the target
+     * @param targetMillis Per-hash latency target in milliseconds
+     * @param minStrength Lowest cost ever chosen, even on slow hardware
+     * @return Calibration with the chosen cost and its estimated hash time
+     */
+    public static BCryptCalibration measure(long targetMillis, int minStrength) {
+        double baseMillis = medianMillis(minStrength);
+        int strength = minStrength;
+        double estimate = baseMillis;
+        while (strength < MAX_STRENGTH && estimate * 2 <= targetMillis) {
+            strength++;
+            estimate *= 2;
+        }
+        return new BCryptCalibration(strength, targetMillis, estimate);
+    }
+
+    private static double medianMillis(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        // Warm up so the JIT does not inflate the first sample
+        encoder.encode(SAMPLE_PASSWORD);
+
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2] / 1_000_000.0;
+    }
+
+    /**
+     * Read the cost factor from an encoded hash such as {@code $2a$10$...}
+     * @param encodedPassword The stored BCrypt hash
+     * @return The cost factor, or -1 if the value is not a BCrypt hash
+     */
+    public static int strengthOf(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7
+                || encodedPassword.charAt(0) != '$' || encodedPassword.charAt(3) != '$') {
+            return -1;
+        }
+        char tens = encodedPassword.charAt(4);
+        char units = encodedPassword.charAt(5);
+        if (!Character.isDigit(tens) || !Character.isDigit(units)) {
+            return -1;
+        }
+        return (tens - '0') * 10 + (units - '0');
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    public long getTargetMillis() {
+        return targetMillis;
+    }
+
+    /**
+     * @return Estimated milliseconds per hash at the chosen cost, 0 when pinned
+     */
+    public double getMeasuredMillis() {
+        return measuredMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "BCryptCalibration{" +
+                "strength=" + strength +
+                ", targetMillis=" + targetMillis +
+                ", measuredMillis=" + String.format("%.1f", measuredMillis) +
+                '}';
+    }
+}
@@ -2,70 +2,79 @@ package com.kbtg.tempbackend.infrastructure.security;
 
 import com.kbtg.tempbackend.application.services.UserApplicationService;
 import com.kbtg.tempbackend.domain.entities.UserEntity;
+import com.kbtg.tempbackend.domain.services.TokenVerification;
 import com.kbtg.tempbackend.util.JwtUtil;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 
 /**
  * JWT Authentication Filter - Infrastructure layer filter for JWT token validation
  * Validates JWT tokens and sets up Spring Security context
+ * Users whose email is listed in security.admin-emails are also granted ROLE_ADMIN
  */
 @Component
 public class JwtAuthenticationFilterClean extends OncePerRequestFilter {
 
+    private static final List<GrantedAuthority> ADMIN = List.of(new SimpleGrantedAuthority("ROLE_ADMIN"));
+
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
     @Autowired
     private UserApplicationService userApplicationService;
 
+    @Value("${jwt.auth.stateless:false}")
+    private boolean stateless;
+
+    // Empty by default, so the admin-only endpoints stay closed until someone is named here
+    @Value("${security.admin-emails:}")
+    private Set<String> adminEmails;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
 
         final String requestTokenHeader = request.getHeader("Authorization");
 
-        String email = null;
-        String jwtToken = null;
+        TokenVerification verification = null;
 
         // JWT Token is in the form "Bearer token". Remove Bearer word and get only the Token
         if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
-            jwtToken = requestTokenHeader.substring(7);
-            try {
-                email = jwtUtil.getUsernameFromToken(jwtToken);
-            } catch (IllegalArgumentException e) {
-                logger.debug("Unable to get JWT Token");
-            } catch (Exception e) {
+            String jwtToken = requestTokenHeader.substring(7);
+            // Repeat tokens are served from the cache; others are verified in a single parse
+            verification = verifiedTokenCache.getOrVerify(jwtToken, jwtUtil::verifyToken);
+            if (!verification.isValid()) {
                 logger.debug("JWT Token has expired or is invalid");
+                verification = null;
             }
         }
 
-        // Once we get the token validate it.
-        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserEntity userEntity = userApplicationService.getUserByEmail(email);
-
-            // if token is valid configure Spring Security to manually set authentication
-            if (userEntity != null && jwtUtil.validateToken(jwtToken, email)) {
-                UserDetails userDetails = org.springframework.security.core.userdetails.User.builder()
-                        .username(userEntity.getEmail())
-                        .password(userEntity.getPassword())
-                        .authorities(new ArrayList<>())
-                        .build();
+        // Once the token is verified, configure Spring Security to manually set authentication
+        if (verification != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            AuthenticatedUser principal = resolvePrincipal(verification);
 
+            if (principal != null) {
                 UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = 
-                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    new UsernamePasswordAuthenticationToken(principal, null, authoritiesOf(principal));
                 usernamePasswordAuthenticationToken
                         .setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 // After setting the Authentication in the context, we specify
@@ -75,4 +84,24 @@ public class JwtAuthenticationFilterClean extends OncePerRequestFilter {
         }
         chain.doFilter(request, response);
     }
+
+    private List<GrantedAuthority> authoritiesOf(AuthenticatedUser principal) {
+        return adminEmails.contains(principal.getEmail()) ? ADMIN : Collections.emptyList();
+    }
+
+    /**
+     * Build the principal for a verified token. In stateless mode the verified claims are
+     * trusted as-is; otherwise the user is looked up so deleted accounts are rejected at once.
+     */
+    private AuthenticatedUser resolvePrincipal(TokenVerification verification) {
+        if (stateless) {
+            return new AuthenticatedUser(verification.getUserId(), verification.getSubject());
+        }
+
+        UserEntity userEntity = userApplicationService.getUserByEmail(verification.getSubject());
+        if (userEntity == null) {
+            return null;
+        }
+        return new AuthenticatedUser(userEntity.getId(), userEntity.getEmail());
+    }
 }
@@ -0,0 +1,55 @@
+package com.kbtg.tempbackend.infrastructure.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login Throttle - Rejects excess login attempts before any lookup or BCrypt work
+ * Attempts are charged against one bucket per client IP and one per email.
+ */
+@Component
+public class LoginThrottle {
+
+    private static final int STRIPES = 64;
+
+    private final boolean enabled;
+    private final TokenBucketLimiter byIp;
+    private final TokenBucketLimiter byEmail;
+
+    public LoginThrottle(@Value("${login.rate-limit.enabled:true}") boolean enabled,
+                         @Value("${login.rate-limit.ip.capacity:20}") int ipCapacity,
+                         @Value("${login.rate-limit.ip.refill-seconds:3}") long ipRefillSeconds,
+                         @Value("${login.rate-limit.email.capacity:5}") int emailCapacity,
+                         @Value("${login.rate-limit.email.refill-seconds:12}") long emailRefillSeconds,
+                         @Value("${login.rate-limit.max-keys:1000000}") int maxKeys) {
+        this.enabled = enabled;
+        this.byIp = new TokenBucketLimiter(ipCapacity, TimeUnit.SECONDS.toNanos(ipRefillSeconds),
+                maxKeys, STRIPES, System::nanoTime);
+        this.byEmail = new TokenBucketLimiter(emailCapacity, TimeUnit.SECONDS.toNanos(emailRefillSeconds),
+                maxKeys, STRIPES, System::nanoTime);
+    }
+
+    /**
+     * Charge a login attempt
+     * @param clientIp The client's address
+     * @param email The email being logged into
+     * @return 0 if the attempt may proceed, otherwise whole seconds to wait before retrying
+     */
+    public long tryAcquire(String clientIp, String email) {
+        if (!enabled) {
+            return 0;
+        }
+        long waitNanos = byIp.tryAcquire(clientIp);
+        if (waitNanos == 0 && email != null) {
+            // Case-folded so "User@x.com" and "user@x.com" share one bucket
+            waitNanos = byEmail.tryAcquire(email.toLowerCase(Locale.ROOT));
+        }
+        if (waitNanos == 0) {
+            return 0;
+        }
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+}
@@ -0,0 +1,151 @@
+package com.kbtg.tempbackend.infrastructure.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token Bucket Limiter - Lock-free per-key rate limiter with bounded memory
+ * Each bucket is a single AtomicLong holding its theoretical arrival time (GCRA),
+ * which behaves exactly like a token bucket but updates with one CAS.
+ * Keys are spread over independent stripes, each capped in size. Only a bucket that has
+ * fully refilled carries no state, so only such buckets are evicted, found by a clock sweep
+ * that examines a few keys per new key. When every tracked bucket is still refilling, new
+ * keys are turned away rather than letting them push out a throttled one.
+ */
+public class TokenBucketLimiter {
+
+    // Keys examined per new key when its stripe is full
+    private static final int EVICTION_SCAN = 8;
+    // Marks a bucket being evicted; a real arrival time never takes this value in practice
+    private static final long EVICTED = Long.MIN_VALUE;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final int maxKeysPerStripe;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final LongSupplier nanoClock;
+
+    /**
+     * @param capacity Attempts allowed in a burst
+     * @param refillPeriodNanos Time for one attempt to be restored
+     * @param maxKeys Upper bound on tracked keys across all stripes
+     * @param stripeCount Number of stripes, rounded up to a power of two
+     * @param nanoClock Monotonic clock in nanoseconds
+     */
+    public TokenBucketLimiter(int capacity, long refillPeriodNanos, int maxKeys, int stripeCount,
+                              LongSupplier nanoClock) {
+        if (capacity < 1 || refillPeriodNanos < 1 || maxKeys < 1 || stripeCount < 1) {
+            throw new IllegalArgumentException("Limiter settings must be positive");
+        }
+        int stripesPow2 = Integer.highestOneBit(stripeCount - 1) << 1;
+        stripesPow2 = Math.max(1, stripesPow2);
+        this.stripes = new Stripe[stripesPow2];
+        for (int i = 0; i < stripesPow2; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.stripeMask = stripesPow2 - 1;
+        this.maxKeysPerStripe = Math.max(1, maxKeys / stripesPow2);
+        this.emissionIntervalNanos = refillPeriodNanos;
+        this.burstToleranceNanos = refillPeriodNanos * (capacity - 1);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Take one attempt from the key's bucket
+     * @param key The key to charge, such as an email or client IP
+     * @return 0 if the attempt is allowed, otherwise nanoseconds until the next one is
+     */
+    public long tryAcquire(String key) {
+        Stripe stripe = stripes[spread(key.hashCode()) & stripeMask];
+        long now = nanoClock.getAsLong();
+
+        while (true) {
+            AtomicLong bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                if (stripe.buckets.size() >= maxKeysPerStripe && !evictIdle(stripe, now)) {
+                    // Every tracked bucket still holds state; keep them and turn the new key away
+                    return emissionIntervalNanos;
+                }
+                // Start from "now", i.e. a full bucket
+                AtomicLong created = new AtomicLong(now);
+                bucket = stripe.buckets.putIfAbsent(key, created);
+                if (bucket == null) {
+                    bucket = created;
+                    stripe.order.offer(key);
+                }
+            }
+
+            long wait = charge(bucket, now);
+            if (wait >= 0) {
+                return wait;
+            }
+            // Evicted under us; drop it if the evicting thread has not yet, then start afresh
+            stripe.buckets.remove(key, bucket);
+        }
+    }
+
+    // Returns -1 if the bucket was evicted before it could be charged
+    private long charge(AtomicLong bucket, long now) {
+        while (true) {
+            long tat = bucket.get();
+            if (tat == EVICTED) {
+                return -1;
+            }
+            long start = Math.max(tat, now);
+            long wait = start - now - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(tat, start + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    // Clock sweep from the oldest key: a fully refilled bucket is evicted, any other key goes
+    // to the back of the queue. Returns whether a bucket was evicted.
+    private boolean evictIdle(Stripe stripe, long now) {
+        for (int i = 0; i < EVICTION_SCAN; i++) {
+            String key = stripe.order.poll();
+            if (key == null) {
+                return false;
+            }
+            AtomicLong bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                continue;
+            }
+            long tat = bucket.get();
+            // The CAS fails if the bucket was charged since it was read, which keeps it
+            if (tat != EVICTED && tat <= now && bucket.compareAndSet(tat, EVICTED)) {
+                stripe.buckets.remove(key, bucket);
+                return true;
+            }
+            stripe.order.offer(key);
+        }
+        return false;
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * @return Number of keys currently tracked
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.buckets.size();
+        }
+        return size;
+    }
+
+    private static final class Stripe {
+        private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        // Each tracked key once, oldest first; the eviction sweep reads from the head
+        private final ConcurrentLinkedQueue<String> order = new ConcurrentLinkedQueue<>();
+    }
+}
@@ -0,0 +1,257 @@
+package com.kbtg.tempbackend.infrastructure.security;
+
+import com.kbtg.tempbackend.domain.services.TokenVerification;
+import com.kbtg.tempbackend.infrastructure.metrics.MetricsRegistry;
+import com.kbtg.tempbackend.infrastructure.metrics.MetricsSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Verified Token Cache - Infrastructure cache in front of JWT signature verification
+ * Keyed by a SHA-256 digest of the raw token so the token itself is never retained.
+ * Entries live until the token's own expiry and the cache stays within a memory budget,
+ * evicting least recently used entries from one of several independently locked stripes.
+ */
+@Component
+public class VerifiedTokenCache implements MetricsSource {
+
+    // Rough heap cost of one entry: map node, key, value holder and two Instants
+    static final int ENTRY_OVERHEAD_BYTES = 192;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    // Keeps a stripe large enough to hold a useful number of entries
+    private static final int MIN_ENTRIES_PER_STRIPE = 64;
+    private static final int MAX_STRIPES = 16;
+
+    private final Stripe[] stripes;
+    private final boolean enabled;
+    private final long maxBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public VerifiedTokenCache(@Value("${jwt.cache.enabled:true}") boolean enabled,
+                              @Value("${jwt.cache.max-bytes:8388608}") long maxBytes) {
+        this.enabled = enabled;
+        this.maxBytes = maxBytes;
+        long fit = maxBytes / ((long) ENTRY_OVERHEAD_BYTES * MIN_ENTRIES_PER_STRIPE);
+        int count = Integer.highestOneBit((int) Math.max(1, Math.min(MAX_STRIPES, fit)));
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(maxBytes / count);
+        }
+    }
+
+    /**
+     * Return the cached verification for a token, or verify and cache it
+     * @param token The raw JWT token
+     * @param verifier Full signature verification, invoked only on a miss
+     * @return The verification result
+     */
+    public TokenVerification getOrVerify(String token, Function<String, TokenVerification> verifier) {
+        if (!enabled) {
+            return verifier.apply(token);
+        }
+
+        TokenDigest key = TokenDigest.of(token);
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            Entry cached = stripe.get(key);
+            if (cached != null) {
+                if (cached.isLive()) {
+                    hits.increment();
+                    return cached.verification;
+                }
+                stripe.evict(key);
+            }
+        }
+
+        misses.increment();
+        TokenVerification verification = verifier.apply(token);
+        // Only tokens that verified are cached, so garbage tokens cannot fill the budget
+        if (verification.isValid() && verification.getExpiresAt() != null) {
+            Entry entry = new Entry(verification);
+            synchronized (stripe) {
+                stripe.insert(key, entry);
+            }
+        }
+        return verification;
+    }
+
+    private Stripe stripeFor(TokenDigest key) {
+        return stripes[(int) key.low & (stripes.length - 1)];
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    public long getUsedBytes() {
+        long used = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                used += stripe.usedBytes;
+            }
+        }
+        return used;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    @Override
+    public void bindTo(MetricsRegistry registry) {
+        registry.gauge("auth.token-cache.hits", this::getHitCount);
+        registry.gauge("auth.token-cache.misses", this::getMissCount);
+        registry.gauge("auth.token-cache.evictions", this::getEvictionCount);
+        registry.gauge("auth.token-cache.size", this::size);
+        registry.gauge("auth.token-cache.used-bytes", this::getUsedBytes);
+        registry.gauge("auth.token-cache.max-bytes", this::getMaxBytes);
+    }
+
+    /**
+     * Drop every entry (mainly for testing)
+     */
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+                stripe.usedBytes = 0;
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final TokenVerification verification;
+        private final long expiresAtMillis;
+        private final int weight;
+
+        private Entry(TokenVerification verification) {
+            this.verification = verification;
+            this.expiresAtMillis = verification.getExpiresAt().toEpochMilli();
+            String subject = verification.getSubject();
+            this.weight = ENTRY_OVERHEAD_BYTES + (subject != null ? 2 * subject.length() : 0);
+        }
+
+        private boolean isLive() {
+            return System.currentTimeMillis() < expiresAtMillis;
+        }
+    }
+
+    /**
+     * Access-ordered map with its own share of the byte budget; guarded by its own monitor.
+     * Room for a new entry is made before it is inserted, so the stripe never exceeds its budget.
+     */
+    private final class Stripe extends LinkedHashMap<TokenDigest, Entry> {
+        private final long budget;
+        private long usedBytes;
+
+        private Stripe(long budget) {
+            super(16, 0.75f, true);
+            this.budget = budget;
+        }
+
+        private void insert(TokenDigest key, Entry entry) {
+            if (entry.weight > budget) {
+                return;
+            }
+            Entry previous = remove(key);
+            if (previous != null) {
+                usedBytes -= previous.weight;
+            }
+            // Least recently used first; expired entries age out the same way
+            Iterator<Map.Entry<TokenDigest, Entry>> eldest = entrySet().iterator();
+            while (usedBytes + entry.weight > budget) {
+                Entry evicted = eldest.next().getValue();
+                eldest.remove();
+                usedBytes -= evicted.weight;
+                evictions.increment();
+            }
+            put(key, entry);
+            usedBytes += entry.weight;
+        }
+
+        private void evict(TokenDigest key) {
+            Entry removed = remove(key);
+            if (removed != null) {
+                usedBytes -= removed.weight;
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * First 128 bits of the token's SHA-256, enough to make collisions impractical
+     */
+    private static final class TokenDigest {
+        private final long high;
+        private final long low;
+
+        private TokenDigest(long high, long low) {
+            this.high = high;
+            this.low = low;
+        }
+
+        static TokenDigest of(String token) {
+            byte[] d = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+            return new TokenDigest(toLong(d, 0), toLong(d, 8));
+        }
+
+        private static long toLong(byte[] b, int offset) {
+            long v = 0;
+            for (int i = offset; i < offset + 8; i++) {
+                v = (v << 8) | (b[i] & 0xFF);
+            }
+            return v;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof TokenDigest)) return false;
+            TokenDigest that = (TokenDigest) o;
+            return high == that.high && low == that.low;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (high ^ (high >>> 32));
+        }
+    }
+}
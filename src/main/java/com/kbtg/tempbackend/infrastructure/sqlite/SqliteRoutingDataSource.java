@@ -0,0 +1,47 @@
+package com.kbtg.tempbackend.infrastructure.sqlite;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.io.Closeable;
+import java.util.Map;
+
+/**
+ * SQLite Routing DataSource - Hands the writer thread the single writer connection
+ * and every other thread a connection from the read pool
+ */
+public class SqliteRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private static final String READ = "read";
+    private static final String WRITE = "write";
+
+    private final HikariDataSource readPool;
+    private final HikariDataSource writer;
+
+    public SqliteRoutingDataSource(HikariDataSource readPool, HikariDataSource writer) {
+        this.readPool = readPool;
+        this.writer = writer;
+        setTargetDataSources(Map.of(READ, readPool, WRITE, writer));
+        setDefaultTargetDataSource(readPool);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return SqliteWriteQueue.isWriterThread() ? WRITE : READ;
+    }
+
+    public HikariDataSource getReadPool() {
+        return readPool;
+    }
+
+    public HikariDataSource getWriter() {
+        return writer;
+    }
+
+    @Override
+    public void close() {
+        readPool.close();
+        writer.close();
+    }
+}
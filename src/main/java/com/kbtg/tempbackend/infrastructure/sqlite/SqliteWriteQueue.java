@@ -0,0 +1,137 @@
+package com.kbtg.tempbackend.infrastructure.sqlite;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * SQLite Write Queue - Funnels every write through one dedicated thread
+ * SQLite allows a single writer at a time; serialising writes here avoids SQLITE_BUSY
+ * under concurrent registrations. The writer thread is routed to the single writer
+ * connection by {@link SqliteRoutingDataSource}, while other threads use the read pool.
+ * When the SQLite datasource is disabled, writes simply run on the calling thread.
+ * A full queue makes submitters wait up to a timeout, then rejects the write.
+ */
+@Component
+public class SqliteWriteQueue implements DisposableBean {
+
+    private final boolean enabled;
+    private final long offerTimeoutMillis;
+    private final ThreadPoolExecutor writer;
+
+    public SqliteWriteQueue(@Value("${sqlite.datasource.enabled:false}") boolean enabled,
+                            @Value("${sqlite.write-queue.capacity:1024}") int capacity,
+                            @Value("${sqlite.write-queue.offer-timeout-millis:5000}") long offerTimeoutMillis) {
+        this.enabled = enabled;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.writer = enabled ? new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacity), WriterThread::new, this::awaitSpace) : null;
+    }
+
+    /**
+     * Run a write on the writer thread and wait for its result
+     * @param write The write operation
+     * @return The operation's result
+     * @throws RejectedExecutionException if the queue stayed full for the whole offer timeout
+     */
+    public <T> T execute(Supplier<T> write) {
+        // Writes already inside a transaction stay on it so they commit or roll back together
+        if (!enabled || isWriterThread() || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return write.get();
+        }
+
+        Future<T> result = writer.submit(write::get);
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("SQLite write failed", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for SQLite write", e);
+        }
+    }
+
+    /**
+     * Run a write without a result on the writer thread and wait for it
+     * @param write The write operation
+     */
+    public void run(Runnable write) {
+        execute(() -> {
+            write.run();
+            return null;
+        });
+    }
+
+    /**
+     * Queue a write on the writer thread without waiting for it
+     * @param write The write operation
+     */
+    public void submit(Runnable write) {
+        if (!enabled) {
+            throw new IllegalStateException("SQLite write queue is disabled");
+        }
+        writer.execute(write);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return Number of writes waiting for the writer thread
+     */
+    public int getPendingWrites() {
+        return writer != null ? writer.getQueue().size() : 0;
+    }
+
+    static boolean isWriterThread() {
+        return Thread.currentThread() instanceof WriterThread;
+    }
+
+    // A full queue blocks the submitter for a while, which gives backpressure to callers
+    // without letting them hang forever behind a stalled writer
+    private void awaitSpace(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("SQLite write queue is shut down");
+        }
+        try {
+            if (!executor.getQueue().offer(task, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new RejectedExecutionException("SQLite write queue is full");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while queueing SQLite write", e);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (writer != null) {
+            writer.shutdown();
+            writer.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    static final class WriterThread extends Thread {
+        WriterThread(Runnable task) {
+            super(task, "sqlite-writer");
+            setDaemon(true);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.kbtg.tempbackend.infrastructure.web;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency Store - Remembers responses by Idempotency-Key so client retries are replayed
+ * The first request with a key runs; the final response is kept for a TTL and returned to
+ * any retry with the same key and the same request fingerprint. A retry arriving while the
+ * first request is still running waits for it. Overload responses (503) and failures are not
+ * kept, so those can be retried for real. Entries are evicted oldest first beyond max-entries.
+ */
+@Component
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final LongAdder replays = new LongAdder();
+
+    @Autowired
+    public IdempotencyStore(@Value("${idempotency.ttl-seconds:86400}") long ttlSeconds,
+                            @Value("${idempotency.max-entries:10000}") int maxEntries) {
+        this(TimeUnit.SECONDS.toNanos(ttlSeconds), maxEntries, System::nanoTime);
+    }
+
+    IdempotencyStore(long ttlNanos, int maxEntries, LongSupplier clock) {
+        this.ttlNanos = ttlNanos;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    /**
+     * Run a request once per idempotency key, replaying the stored response for retries
+     * @param key The client's Idempotency-Key
+     * @param fingerprint Digest of the request, see {@link #fingerprint(Object...)}
+     * @param call Handles the request the first time
+     * @return The response, marked with the Idempotent-Replayed header when it is a replay
+     * @throws KeyReusedException if the key was used before for a different request
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<ResponseEntity<T>> execute(String key, String fingerprint,
+                                                           Supplier<CompletableFuture<ResponseEntity<T>>> call) {
+        Entry mine = new Entry(key, fingerprint);
+        Entry existing;
+        while ((existing = entries.putIfAbsent(key, mine)) != null) {
+            if (!existing.isExpired(clock.getAsLong())) {
+                if (!existing.fingerprint.equals(fingerprint)) {
+                    throw new KeyReusedException();
+                }
+                replays.increment();
+                return existing.response.thenApply(response -> replayed((ResponseEntity<T>) response));
+            }
+            entries.remove(key, existing);
+        }
+        insertionOrder.add(mine);
+        evictOldest();
+
+        CompletableFuture<ResponseEntity<T>> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException | Error e) {
+            entries.remove(key, mine);
+            insertionOrder.remove(mine);
+            mine.response.completeExceptionally(e);
+            throw e;
+        }
+        result.whenComplete((response, error) -> {
+            if (error != null || response.getStatusCode().value() == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+                entries.remove(key, mine);
+                insertionOrder.remove(mine);
+            } else {
+                mine.expiresAt = clock.getAsLong() + ttlNanos;
+            }
+            if (error != null) {
+                mine.response.completeExceptionally(error);
+            } else {
+                mine.response.complete(response);
+            }
+        });
+        return result;
+    }
+
+    private void evictOldest() {
+        long now = clock.getAsLong();
+        Entry head;
+        while ((head = insertionOrder.peek()) != null
+                && (entries.size() > maxEntries || head.isExpired(now) || entries.get(head.key) != head)) {
+            if (insertionOrder.remove(head)) {
+                entries.remove(head.key, head);
+            }
+        }
+    }
+
+    private static <T> ResponseEntity<T> replayed(ResponseEntity<T> response) {
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .header(REPLAYED_HEADER, "true")
+                .body(response.getBody());
+    }
+
+    /**
+     * Digest the parts of a request so a reused key with a different request can be detected
+     * without keeping the request itself (which may hold a password)
+     */
+    public static String fingerprint(Object... parts) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            for (Object part : parts) {
+                sha256.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                sha256.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(sha256.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * @return Number of requests answered with a stored response
+     */
+    public long getReplayCount() {
+        return replays.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Thrown when an Idempotency-Key is reused for a different request
+     */
+    public static class KeyReusedException extends IllegalStateException {
+        public KeyReusedException() {
+            super("Idempotency-Key was already used for a different request");
+        }
+    }
+
+    private static final class Entry {
+        private final String key;
+        private final String fingerprint;
+        private final CompletableFuture<ResponseEntity<?>> response = new CompletableFuture<>();
+        // Long.MAX_VALUE until the response is complete; in-flight entries never expire
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        private Entry(String key, String fingerprint) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+        }
+
+        private boolean isExpired(long now) {
+            return expiresAt != Long.MAX_VALUE && now - expiresAt > 0;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.kbtg.tempbackend.interfaces.cli;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Batch Mode Shutdown - Stops the application after a command line import or export
+ * Only applies when running without a web server; scheduled tasks would otherwise
+ * keep the JVM alive once the file jobs have finished.
+ */
+@Component
+@ConditionalOnExpression("'${users.import.file:}' != '' or '${users.export.file:}' != ''")
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class BatchModeShutdown implements ApplicationRunner {
+
+    private final ConfigurableApplicationContext context;
+
+    public BatchModeShutdown(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!(context instanceof WebServerApplicationContext)) {
+            SpringApplication.exit(context);
+        }
+    }
+}
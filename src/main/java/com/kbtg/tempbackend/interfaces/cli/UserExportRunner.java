@@ -0,0 +1,71 @@
+package com.kbtg.tempbackend.interfaces.cli;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kbtg.tempbackend.application.services.UserApplicationService;
+import com.kbtg.tempbackend.interfaces.dtos.UserSummaryResponse;
+import com.kbtg.tempbackend.interfaces.exports.UserExportWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * User Export Runner - Command line entry point for exporting all users to a file
+ * Runs when users.export.file is set; the format follows the file extension
+ * (.csv, .ndjson or .jsonl, each optionally followed by .gz). The file is written
+ * under a temporary name and renamed once complete, so a half-written export is
+ * never mistaken for a finished one. For a nightly export without the web server:
+ * <pre>
+ * java -jar app.jar --users.export.file=users.ndjson.gz --spring.main.web-application-type=none
+ * </pre>
+ */
+@Component
+@ConditionalOnProperty(name = "users.export.file")
+@Order(2)
+public class UserExportRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(UserExportRunner.class);
+
+    private final UserApplicationService userApplicationService;
+    private final ObjectMapper objectMapper;
+    private final Path file;
+
+    public UserExportRunner(UserApplicationService userApplicationService, ObjectMapper objectMapper,
+                            @Value("${users.export.file}") String file) {
+        this.userApplicationService = userApplicationService;
+        this.objectMapper = objectMapper;
+        this.file = Path.of(file).toAbsolutePath();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        log.info("Exporting users to {}", file);
+        long start = System.nanoTime();
+        Path partial = file.resolveSibling(file.getFileName() + ".part");
+        long rows;
+        try (OutputStream out = Files.newOutputStream(partial);
+             UserExportWriter writer = UserExportWriter.forFile(file.getFileName().toString(), out, objectMapper);
+             Stream<UserSummaryResponse> users = userApplicationService.streamUsers()) {
+            for (Iterator<UserSummaryResponse> it = users.iterator(); it.hasNext(); ) {
+                writer.write(it.next());
+            }
+            rows = writer.getRowCount();
+        } catch (Exception e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+        Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Exported {} users to {} in {} ms", rows, file, (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,69 @@
+package com.kbtg.tempbackend.interfaces.cli;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kbtg.tempbackend.application.services.UserApplicationService;
+import com.kbtg.tempbackend.interfaces.dtos.UserImportEvent;
+import com.kbtg.tempbackend.interfaces.imports.UserImportReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * User Import Runner - Command line entry point for bulk user import
+ * Runs when users.import.file is set; the format follows the file extension
+ * (.csv, .ndjson or .jsonl). To import without starting the web server, in which
+ * case the application shuts down once the import finishes (see {@link BatchModeShutdown}):
+ * <pre>
+ * java -jar app.jar --users.import.file=users.csv --spring.main.web-application-type=none
+ * </pre>
+ */
+@Component
+@ConditionalOnProperty(name = "users.import.file")
+@Order(1)
+public class UserImportRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(UserImportRunner.class);
+
+    private final UserApplicationService userApplicationService;
+    private final ObjectMapper objectMapper;
+    private final Path file;
+
+    public UserImportRunner(UserApplicationService userApplicationService, ObjectMapper objectMapper,
+                            @Value("${users.import.file}") String file) {
+        this.userApplicationService = userApplicationService;
+        this.objectMapper = objectMapper;
+        this.file = Path.of(file);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        log.info("Importing users from {}", file);
+        long start = System.nanoTime();
+        UserImportEvent summary;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             UserImportReader records = UserImportReader.forFormat(file.getFileName().toString(), reader, objectMapper)) {
+            summary = userApplicationService.importUsers(records, UserImportRunner::report);
+        }
+        log.info("Imported {} of {} users from {} ({} rejected) in {} ms", summary.getImported(),
+                summary.getProcessed(), file, summary.getFailed(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static void report(UserImportEvent event) {
+        if (UserImportEvent.ERROR.equals(event.getType())) {
+            log.warn("Line {} ({}): {}", event.getLine(), event.getEmail(), event.getMessage());
+        } else if (UserImportEvent.PROGRESS.equals(event.getType())) {
+            log.info("Processed {} rows: {} imported, {} rejected",
+                    event.getProcessed(), event.getImported(), event.getFailed());
+        }
+    }
+}
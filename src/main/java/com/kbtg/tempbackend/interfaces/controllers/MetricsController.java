@@ -0,0 +1,46 @@
+package com.kbtg.tempbackend.interfaces.controllers;
+
+import com.kbtg.tempbackend.infrastructure.metrics.MetricsRegistry;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Metrics Controller - Interface layer controller for operational metrics
+ */
+@RestController
+@RequestMapping("/api")
+@Tag(name = "Metrics", description = "Operational counters and gauges")
+public class MetricsController {
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    @GetMapping("/metrics")
+    @Operation(
+        summary = "Get operational metrics",
+        description = "Returns the current value of every registered metric as a flat JSON object keyed by "
+            + "dotted metric name, e.g. password.bcrypt.strength. Counters are totals since startup. "
+            + "Admins only (security.admin-emails)."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Metrics retrieved successfully"
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Caller is not an admin"
+        )
+    })
+    public Map<String, Number> getMetrics() {
+        return metricsRegistry.snapshot();
+    }
+}
@@ -1,26 +1,56 @@
 package com.kbtg.tempbackend.interfaces.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.kbtg.tempbackend.application.services.UserApplicationService;
 import com.kbtg.tempbackend.domain.entities.UserEntity;
+import com.kbtg.tempbackend.infrastructure.security.LoginThrottle;
+import com.kbtg.tempbackend.infrastructure.web.IdempotencyStore;
 import com.kbtg.tempbackend.interfaces.dtos.UserRegistrationResponse;
+import com.kbtg.tempbackend.interfaces.dtos.EmailCheckRequest;
 import com.kbtg.tempbackend.interfaces.dtos.LoginRequest;
 import com.kbtg.tempbackend.interfaces.dtos.LoginResponse;
+import com.kbtg.tempbackend.interfaces.dtos.UserBatchRequest;
+import com.kbtg.tempbackend.interfaces.dtos.UserBatchResponse;
+import com.kbtg.tempbackend.interfaces.dtos.UserImportEvent;
 import com.kbtg.tempbackend.interfaces.dtos.UserProfileResponse;
+import com.kbtg.tempbackend.interfaces.dtos.UserSummaryResponse;
+import com.kbtg.tempbackend.interfaces.exports.UserExportWriter;
+import com.kbtg.tempbackend.interfaces.imports.UserImportReader;
 import com.kbtg.tempbackend.model.User;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
+
 /**
  * User Controller - Interface layer controller for user operations
  * Handles HTTP requests and delegates to Application Service
@@ -30,13 +60,27 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "User Management", description = "APIs for user registration and management")
 public class UserControllerClean {
 
+    private static final String SERVICE_BUSY_MESSAGE = "Server is busy, please retry later";
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int MAX_PAGE_SIZE = 1000;
+
     @Autowired
     private UserApplicationService userApplicationService;
 
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
     @PostMapping("/register")
     @Operation(
         summary = "Register a new user",
-        description = "Register a new user with email, password, firstname, lastname, phone number, and birthday"
+        description = "Register a new user with email, password, firstname, lastname, phone number, and birthday. "
+            + "With login=true the response also carries a JWT token, so no separate login call is needed."
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -62,9 +106,49 @@ public class UserControllerClean {
                 mediaType = "application/json",
                 schema = @Schema(implementation = UserRegistrationResponse.class)
             )
+        ),
+        @ApiResponse(
+            responseCode = "422",
+            description = "Idempotency-Key already used for a different request",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = UserRegistrationResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Too many concurrent requests, retry later",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = UserRegistrationResponse.class)
+            )
         )
     })
-    public ResponseEntity<UserRegistrationResponse> registerUser(@Valid @RequestBody User user) {
+    public CompletableFuture<ResponseEntity<UserRegistrationResponse>> registerUser(
+            @Valid @RequestBody User user,
+            @Parameter(description = "Also log the new user in and return a JWT token in the response")
+            @RequestParam(defaultValue = "false") boolean login,
+            @Parameter(description = "Client-chosen key; retries with the same key and body replay the first response")
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return register(user, login);
+        }
+        if (idempotencyKey.length() > IdempotencyStore.MAX_KEY_LENGTH) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                .body(new UserRegistrationResponse("error", "Idempotency-Key is too long")));
+        }
+        String fingerprint = IdempotencyStore.fingerprint(user.getEmail(), user.getPassword(), user.getFirstname(),
+            user.getLastname(), user.getPhoneNumber(), user.getBirthday(), login);
+        try {
+            // Retries get the stored response without hashing or touching the database
+            return idempotencyStore.execute(idempotencyKey, fingerprint, () -> register(user, login));
+        } catch (IdempotencyStore.KeyReusedException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.unprocessableEntity()
+                .body(new UserRegistrationResponse("error", e.getMessage())));
+        }
+    }
+
+    private CompletableFuture<ResponseEntity<UserRegistrationResponse>> register(User user, boolean login) {
         // Convert JPA entity to domain entity
         UserEntity userEntity = new UserEntity(
             user.getEmail(),
@@ -75,11 +159,18 @@ public class UserControllerClean {
             user.getBirthday()
         );
         
-        UserRegistrationResponse response = userApplicationService.registerUser(userEntity);
-        if ("success".equals(response.getStatus())) {
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
-        } else {
-            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        try {
+            // Password hashing runs on its own pool, releasing this servlet thread
+            return userApplicationService.registerUserAsync(userEntity, login).thenApply(response -> {
+                if ("success".equals(response.getStatus())) {
+                    return ResponseEntity.status(HttpStatus.CREATED).body(response);
+                } else {
+                    return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(serviceBusy(
+                new UserRegistrationResponse("error", SERVICE_BUSY_MESSAGE)));
         }
     }
 
@@ -104,14 +195,47 @@ public class UserControllerClean {
                 mediaType = "application/json",
                 schema = @Schema(implementation = LoginResponse.class)
             )
+        ),
+        @ApiResponse(
+            responseCode = "429",
+            description = "Too many login attempts for this email or client",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = LoginResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Too many concurrent requests, retry later",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = LoginResponse.class)
+            )
         )
     })
-    public ResponseEntity<LoginResponse> loginUser(@Valid @RequestBody LoginRequest loginRequest) {
-        LoginResponse response = userApplicationService.loginUser(loginRequest.getEmail(), loginRequest.getPassword());
-        if ("success".equals(response.getStatus())) {
-            return ResponseEntity.ok(response);
-        } else {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+    public CompletableFuture<ResponseEntity<LoginResponse>> loginUser(@Valid @RequestBody LoginRequest loginRequest,
+                                                                      HttpServletRequest request) {
+        // Throttle before any repository lookup or BCrypt work is spent on the attempt
+        long retryAfterSeconds = loginThrottle.tryAcquire(request.getRemoteAddr(), loginRequest.getEmail());
+        if (retryAfterSeconds > 0) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(new LoginResponse("error", "Too many login attempts, please retry later")));
+        }
+
+        try {
+            // Password verification runs on its own pool, releasing this servlet thread
+            return userApplicationService.loginUserAsync(loginRequest.getEmail(), loginRequest.getPassword())
+                .thenApply(response -> {
+                    if ("success".equals(response.getStatus())) {
+                        return ResponseEntity.ok(response);
+                    } else {
+                        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+                    }
+                });
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(serviceBusy(
+                new LoginResponse("error", SERVICE_BUSY_MESSAGE)));
         }
     }
 
@@ -168,6 +292,144 @@ public class UserControllerClean {
         }
     }
 
+    @PostMapping("/users/batch")
+    @Operation(
+        summary = "Get user profiles by ID",
+        description = "Fetch up to 500 user profiles in one call. Duplicate IDs are ignored; "
+            + "IDs with no matching user are listed in missingIds. Admins only (security.admin-emails)."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "User profiles retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = UserBatchResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Caller is not an admin"
+        )
+    })
+    public ResponseEntity<UserBatchResponse> getUserProfiles(@Valid @RequestBody UserBatchRequest request) {
+        return ResponseEntity.ok(userApplicationService.getUserProfiles(request.getIds()));
+    }
+
+    @GetMapping(value = "/users", produces = NDJSON)
+    @Operation(
+        summary = "List users as NDJSON",
+        description = "Streams users in ID order, one JSON object per line. Without parameters every user is "
+            + "streamed through a database cursor in constant memory. With afterId and/or limit a single "
+            + "keyset page is returned; pass the last ID received as afterId to fetch the next page. "
+            + "Admins only (security.admin-emails)."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Users streamed successfully",
+            content = @Content(
+                mediaType = NDJSON,
+                schema = @Schema(implementation = UserSummaryResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Caller is not an admin"
+        )
+    })
+    public void listUsers(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer limit,
+            HttpServletResponse response) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(UserSummaryResponse.class);
+        if (afterId == null && limit == null) {
+            // Streamed on the request thread, like the export and import, so the async request timeout
+            // never cuts off a full listing
+            startStreaming(response, NDJSON);
+            OutputStream out = response.getOutputStream();
+            try (Stream<UserSummaryResponse> users = userApplicationService.streamUsers()) {
+                users.forEach(user -> writeLine(writer, out, user));
+            }
+        } else {
+            int pageSize = limit == null ? MAX_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+            List<UserSummaryResponse> page = userApplicationService.getUsersPage(afterId, pageSize);
+            startStreaming(response, NDJSON);
+            OutputStream out = response.getOutputStream();
+            page.forEach(user -> writeLine(writer, out, user));
+        }
+    }
+
+    private static void startStreaming(HttpServletResponse response, String contentType) {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(contentType);
+    }
+
+    private void writeError(HttpServletResponse response, String errorMessage) throws IOException {
+        response.setStatus(HttpStatus.BAD_REQUEST.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new Object() {
+            public final String status = "error";
+            public final String message = errorMessage;
+        });
+    }
+
+    private static void writeLine(ObjectWriter writer, OutputStream out, Object value) {
+        try {
+            out.write(writer.writeValueAsBytes(value));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @GetMapping("/users/export")
+    @Operation(
+        summary = "Export all users as a file",
+        description = "Downloads every user in ID order as CSV or NDJSON, gzipped by default. Rows are read "
+            + "through a forward-only database cursor and written as they arrive, so memory use does not grow "
+            + "with the number of users. Password hashes are never read. Admins only (security.admin-emails); "
+            + "scheduled exports should use the command-line runner (--users.export.file=<path>)."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Export file"
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Unsupported format"
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Caller is not an admin"
+        )
+    })
+    public void exportUsers(
+            @Parameter(description = "csv or ndjson")
+            @RequestParam(defaultValue = UserExportWriter.NDJSON) String format,
+            @Parameter(description = "Gzip the file")
+            @RequestParam(defaultValue = "true") boolean gzip,
+            HttpServletResponse response) throws IOException {
+        boolean csv = UserExportWriter.CSV.equalsIgnoreCase(format);
+        if (!csv && !UserExportWriter.NDJSON.equalsIgnoreCase(format)) {
+            writeError(response, "Unsupported export format: " + format);
+            return;
+        }
+
+        startStreaming(response, gzip ? "application/gzip" : csv ? UserImportReader.CSV : NDJSON);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+            .filename("users." + UserExportWriter.fileExtension(format, gzip))
+            .build()
+            .toString());
+        try (UserExportWriter writer = UserExportWriter.create(format, response.getOutputStream(), gzip, objectMapper);
+             Stream<UserSummaryResponse> users = userApplicationService.streamUsers()) {
+            for (Iterator<UserSummaryResponse> it = users.iterator(); it.hasNext(); ) {
+                writer.write(it.next());
+            }
+        }
+    }
+
     @GetMapping("/users/count")
     @Operation(
         summary = "Get total number of registered users",
@@ -202,4 +464,95 @@ public class UserControllerClean {
             public final boolean exists = emailExists;
         });
     }
+
+    @PostMapping("/users/check-emails")
+    @Operation(
+        summary = "Check if emails exist",
+        description = "Check up to 1000 emails in one call; returns a map of each email to whether it is registered. "
+            + "Admins only (security.admin-emails)."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Email check completed"
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Caller is not an admin"
+        )
+    })
+    public ResponseEntity<Object> checkEmailsExist(@Valid @RequestBody EmailCheckRequest request) {
+        Map<String, Boolean> emailResults = userApplicationService.checkEmailsExist(request.getEmails());
+        return ResponseEntity.ok(new Object() {
+            public final String message = "Email check completed";
+            public final Map<String, Boolean> results = emailResults;
+        });
+    }
+
+    @PostMapping(value = "/users/import", consumes = {UserImportReader.CSV, UserImportReader.NDJSON}, produces = NDJSON)
+    @Operation(
+        summary = "Bulk import users from CSV or NDJSON",
+        description = "Streams the request body through the import in batches without buffering the file. "
+            + "CSV needs a header row with email, password, firstname, lastname, phoneNumber and birthday columns; "
+            + "NDJSON takes one registration object per line. Passwords that are already BCrypt hashes are imported "
+            + "unchanged. The response is NDJSON: an error line for each rejected row, a progress line after each "
+            + "batch and a final done line with the totals. Admins only (security.admin-emails)."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Import ran; see the streamed events for rejected rows",
+            content = @Content(
+                mediaType = NDJSON,
+                schema = @Schema(implementation = UserImportEvent.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid CSV header"
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Caller is not an admin"
+        )
+    })
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Charset charset = request.getCharacterEncoding() != null
+            ? Charset.forName(request.getCharacterEncoding())
+            : StandardCharsets.UTF_8;
+        try (UserImportReader records = UserImportReader.forFormat(request.getContentType(),
+                new InputStreamReader(request.getInputStream(), charset), objectMapper)) {
+            try {
+                // Reads the CSV header, so a bad header is still a plain 400 before streaming starts
+                records.hasNext();
+            } catch (IllegalArgumentException e) {
+                writeError(response, e.getMessage());
+                return;
+            }
+
+            startStreaming(response, NDJSON);
+            OutputStream out = response.getOutputStream();
+            ObjectWriter writer = objectMapper.writerFor(UserImportEvent.class);
+            userApplicationService.importUsers(records, event -> {
+                writeLine(writer, out, event);
+                if (!UserImportEvent.ERROR.equals(event.getType())) {
+                    flush(out);
+                }
+            });
+        }
+    }
+
+    private static void flush(OutputStream out) {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static <T> ResponseEntity<T> serviceBusy(T body) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(body);
+    }
 }
@@ -0,0 +1,34 @@
+package com.kbtg.tempbackend.interfaces.dtos;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class EmailCheckRequest {
+    
+    @NotEmpty(message = "At least one email is required")
+    @Size(max = 1000, message = "At most 1000 emails can be checked at once")
+    private List<@NotBlank(message = "Emails must not be blank")
+                 @Email(message = "Emails must be valid")
+                 @Size(max = 254, message = "Emails must be at most 254 characters") String> emails;
+    
+    // Default constructor
+    public EmailCheckRequest() {}
+    
+    // Constructor with parameters
+    public EmailCheckRequest(List<String> emails) {
+        this.emails = emails;
+    }
+    
+    // Getters and setters
+    public List<String> getEmails() {
+        return emails;
+    }
+    
+    public void setEmails(List<String> emails) {
+        this.emails = emails;
+    }
+}
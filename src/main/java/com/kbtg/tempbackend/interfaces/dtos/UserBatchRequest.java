@@ -0,0 +1,30 @@
+package com.kbtg.tempbackend.interfaces.dtos;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class UserBatchRequest {
+    
+    @NotEmpty(message = "At least one id is required")
+    @Size(max = 500, message = "At most 500 users can be fetched at once")
+    private List<Long> ids;
+    
+    // Default constructor
+    public UserBatchRequest() {}
+    
+    // Constructor with parameters
+    public UserBatchRequest(List<Long> ids) {
+        this.ids = ids;
+    }
+    
+    // Getters and setters
+    public List<Long> getIds() {
+        return ids;
+    }
+    
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
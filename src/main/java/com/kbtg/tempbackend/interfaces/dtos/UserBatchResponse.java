@@ -0,0 +1,52 @@
+package com.kbtg.tempbackend.interfaces.dtos;
+
+import java.util.List;
+
+public class UserBatchResponse {
+    private String status;
+    private String message;
+    private List<UserProfileResponse> users;
+    private List<Long> missingIds;
+
+    public UserBatchResponse() {}
+
+    public UserBatchResponse(String status, String message, List<UserProfileResponse> users, List<Long> missingIds) {
+        this.status = status;
+        this.message = message;
+        this.users = users;
+        this.missingIds = missingIds;
+    }
+
+    // Getters and Setters
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public List<UserProfileResponse> getUsers() {
+        return users;
+    }
+
+    public void setUsers(List<UserProfileResponse> users) {
+        this.users = users;
+    }
+
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+
+    public void setMissingIds(List<Long> missingIds) {
+        this.missingIds = missingIds;
+    }
+}
@@ -0,0 +1,111 @@
+package com.kbtg.tempbackend.interfaces.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Bulk import progress line: a row error, a progress update after each batch, or the final summary")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserImportEvent {
+
+    public static final String ERROR = "error";
+    public static final String PROGRESS = "progress";
+    public static final String DONE = "done";
+
+    @Schema(description = "Event type: error, progress or done", example = "progress")
+    private String type;
+
+    @Schema(description = "Source line of the rejected row", example = "42")
+    private Long line;
+
+    @Schema(description = "Email of the rejected row", example = "user@example.com")
+    private String email;
+
+    @Schema(description = "Why the row was rejected", example = "Email already exists")
+    private String message;
+
+    @Schema(description = "Rows read so far", example = "1000")
+    private Long processed;
+
+    @Schema(description = "Rows imported so far", example = "998")
+    private Long imported;
+
+    @Schema(description = "Rows rejected so far", example = "2")
+    private Long failed;
+
+    public UserImportEvent() {}
+
+    public static UserImportEvent error(long line, String email, String message) {
+        UserImportEvent event = new UserImportEvent();
+        event.type = ERROR;
+        event.line = line;
+        event.email = email;
+        event.message = message;
+        return event;
+    }
+
+    public static UserImportEvent progress(String type, long processed, long imported, long failed) {
+        UserImportEvent event = new UserImportEvent();
+        event.type = type;
+        event.processed = processed;
+        event.imported = imported;
+        event.failed = failed;
+        return event;
+    }
+
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getLine() {
+        return line;
+    }
+
+    public void setLine(Long line) {
+        this.line = line;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public Long getProcessed() {
+        return processed;
+    }
+
+    public void setProcessed(Long processed) {
+        this.processed = processed;
+    }
+
+    public Long getImported() {
+        return imported;
+    }
+
+    public void setImported(Long imported) {
+        this.imported = imported;
+    }
+
+    public Long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(Long failed) {
+        this.failed = failed;
+    }
+}
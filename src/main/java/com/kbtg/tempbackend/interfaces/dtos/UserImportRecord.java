@@ -0,0 +1,118 @@
+package com.kbtg.tempbackend.interfaces.dtos;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "One user row of a bulk import (a CSV row or an NDJSON line)")
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class UserImportRecord {
+
+    @Schema(description = "User's email", example = "user@example.com")
+    private String email;
+
+    @Schema(description = "Raw password, or an existing BCrypt hash which is imported unchanged", example = "password123")
+    private String password;
+
+    @Schema(description = "User's first name", example = "John")
+    private String firstname;
+
+    @Schema(description = "User's last name", example = "Doe")
+    private String lastname;
+
+    @Schema(description = "User's phone number", example = "0812345678")
+    private String phoneNumber;
+
+    @Schema(description = "User's birthday (yyyy-MM-dd)", example = "1990-01-01")
+    private String birthday;
+
+    // Position in the source file, for error reporting
+    @JsonIgnore
+    private long line;
+
+    // Set when the row could not be parsed at all
+    @JsonIgnore
+    private String parseError;
+
+    public UserImportRecord() {}
+
+    public UserImportRecord(String email, String password, String firstname, String lastname,
+                            String phoneNumber, String birthday) {
+        this.email = email;
+        this.password = password;
+        this.firstname = firstname;
+        this.lastname = lastname;
+        this.phoneNumber = phoneNumber;
+        this.birthday = birthday;
+    }
+
+    public static UserImportRecord unparseable(long line, String parseError) {
+        UserImportRecord record = new UserImportRecord();
+        record.line = line;
+        record.parseError = parseError;
+        return record;
+    }
+
+    // Getters and Setters
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public String getFirstname() {
+        return firstname;
+    }
+
+    public void setFirstname(String firstname) {
+        this.firstname = firstname;
+    }
+
+    public String getLastname() {
+        return lastname;
+    }
+
+    public void setLastname(String lastname) {
+        this.lastname = lastname;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public void setPhoneNumber(String phoneNumber) {
+        this.phoneNumber = phoneNumber;
+    }
+
+    public String getBirthday() {
+        return birthday;
+    }
+
+    public void setBirthday(String birthday) {
+        this.birthday = birthday;
+    }
+
+    @JsonIgnore
+    public long getLine() {
+        return line;
+    }
+
+    public void setLine(long line) {
+        this.line = line;
+    }
+
+    @JsonIgnore
+    public String getParseError() {
+        return parseError;
+    }
+}
@@ -2,6 +2,7 @@ package com.kbtg.tempbackend.interfaces.dtos;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.time.LocalDate;
 
 @Schema(description = "User registration response")
@@ -28,6 +29,10 @@ public class UserRegistrationResponse {
     @Schema(description = "User's birthday", example = "1990-01-01")
     @JsonFormat(pattern = "yyyy-MM-dd")
     private LocalDate birthday;
+    
+    @Schema(description = "JWT token, only present when registering with login=true")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String token;
 
     // Default constructor
     public UserRegistrationResponse() {}
@@ -107,4 +112,12 @@ public class UserRegistrationResponse {
     public void setBirthday(LocalDate birthday) {
         this.birthday = birthday;
     }
+
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
 }
@@ -0,0 +1,90 @@
+package com.kbtg.tempbackend.interfaces.dtos;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+
+@Schema(description = "User entry in a user listing")
+public class UserSummaryResponse {
+
+    @Schema(description = "User ID", example = "1")
+    private Long id;
+
+    @Schema(description = "User's email", example = "user@example.com")
+    private String email;
+
+    @Schema(description = "User's first name", example = "John")
+    private String firstname;
+
+    @Schema(description = "User's last name", example = "Doe")
+    private String lastname;
+
+    @Schema(description = "User's phone number", example = "0812345678")
+    private String phoneNumber;
+
+    @Schema(description = "User's birthday", example = "1990-01-01")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate birthday;
+
+    public UserSummaryResponse() {}
+
+    public UserSummaryResponse(Long id, String email, String firstname, String lastname,
+                               String phoneNumber, LocalDate birthday) {
+        this.id = id;
+        this.email = email;
+        this.firstname = firstname;
+        this.lastname = lastname;
+        this.phoneNumber = phoneNumber;
+        this.birthday = birthday;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getFirstname() {
+        return firstname;
+    }
+
+    public void setFirstname(String firstname) {
+        this.firstname = firstname;
+    }
+
+    public String getLastname() {
+        return lastname;
+    }
+
+    public void setLastname(String lastname) {
+        this.lastname = lastname;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public void setPhoneNumber(String phoneNumber) {
+        this.phoneNumber = phoneNumber;
+    }
+
+    public LocalDate getBirthday() {
+        return birthday;
+    }
+
+    public void setBirthday(LocalDate birthday) {
+        this.birthday = birthday;
+    }
+}
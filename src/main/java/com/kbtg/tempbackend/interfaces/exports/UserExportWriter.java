@@ -0,0 +1,172 @@
+package com.kbtg.tempbackend.interfaces.exports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.kbtg.tempbackend.interfaces.dtos.UserSummaryResponse;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * User Export Writer - Writes users one row at a time as CSV or NDJSON, optionally gzipped
+ * Rows are encoded straight into a buffered output stream, so an export of any size
+ * needs only the current row in memory.
+ */
+public abstract class UserExportWriter implements Closeable {
+
+    public static final String CSV = "csv";
+    public static final String NDJSON = "ndjson";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final OutputStream out;
+    private long rows;
+
+    private UserExportWriter(OutputStream target, boolean gzip) throws IOException {
+        this.out = gzip
+                ? new GZIPOutputStream(target, BUFFER_SIZE)
+                : new BufferedOutputStream(target, BUFFER_SIZE);
+    }
+
+    /**
+     * Create a writer for the given format
+     * @param format csv or ndjson
+     * @param target Where to write; closed when this writer is closed
+     * @param gzip Whether to gzip the output
+     * @throws IllegalArgumentException if the format is not csv or ndjson
+     */
+    public static UserExportWriter create(String format, OutputStream target, boolean gzip,
+                                          ObjectMapper objectMapper) throws IOException {
+        switch (format == null ? "" : format.toLowerCase(Locale.ROOT)) {
+            case CSV:
+                return new CsvWriter(target, gzip);
+            case NDJSON:
+                return new NdjsonWriter(target, gzip, objectMapper);
+            default:
+                throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+    }
+
+    /**
+     * Create a writer for a file name such as users.csv or users.ndjson.gz
+     * @throws IllegalArgumentException if the extension is not a supported format
+     */
+    public static UserExportWriter forFile(String fileName, OutputStream target,
+                                           ObjectMapper objectMapper) throws IOException {
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        boolean gzip = lower.endsWith(".gz");
+        if (gzip) {
+            lower = lower.substring(0, lower.length() - 3);
+        }
+        String format = lower.endsWith(".csv") ? CSV
+                : lower.endsWith(".ndjson") || lower.endsWith(".jsonl") ? NDJSON
+                : lower;
+        return create(format, target, gzip, objectMapper);
+    }
+
+    /**
+     * @return The file extension for a format, e.g. ndjson.gz
+     */
+    public static String fileExtension(String format, boolean gzip) {
+        return format.toLowerCase(Locale.ROOT) + (gzip ? ".gz" : "");
+    }
+
+    /**
+     * Write one user
+     */
+    public void write(UserSummaryResponse user) throws IOException {
+        writeRow(user);
+        rows++;
+    }
+
+    /**
+     * @return Number of users written so far
+     */
+    public long getRowCount() {
+        return rows;
+    }
+
+    protected OutputStream out() {
+        return out;
+    }
+
+    protected abstract void writeRow(UserSummaryResponse user) throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        // Finishes the gzip trailer as well
+        out.close();
+    }
+
+    private static final class NdjsonWriter extends UserExportWriter {
+        private final ObjectWriter rowWriter;
+
+        private NdjsonWriter(OutputStream target, boolean gzip, ObjectMapper objectMapper) throws IOException {
+            super(target, gzip);
+            this.rowWriter = objectMapper.writerFor(UserSummaryResponse.class);
+        }
+
+        @Override
+        protected void writeRow(UserSummaryResponse user) throws IOException {
+            out().write(rowWriter.writeValueAsBytes(user));
+            out().write('\n');
+        }
+    }
+
+    private static final class CsvWriter extends UserExportWriter {
+        private final Writer writer;
+
+        private CsvWriter(OutputStream target, boolean gzip) throws IOException {
+            super(target, gzip);
+            this.writer = new OutputStreamWriter(out(), StandardCharsets.UTF_8);
+            writer.write("id,email,firstname,lastname,phoneNumber,birthday\n");
+        }
+
+        @Override
+        protected void writeRow(UserSummaryResponse user) throws IOException {
+            writer.write(String.valueOf(user.getId()));
+            writer.write(',');
+            writeField(user.getEmail());
+            writer.write(',');
+            writeField(user.getFirstname());
+            writer.write(',');
+            writeField(user.getLastname());
+            writer.write(',');
+            writeField(user.getPhoneNumber());
+            writer.write(',');
+            writeField(user.getBirthday() != null ? user.getBirthday().toString() : "");
+            writer.write('\n');
+        }
+
+        // RFC 4180 quoting, only where needed
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+}
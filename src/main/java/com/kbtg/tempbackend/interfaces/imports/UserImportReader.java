@@ -0,0 +1,324 @@
+package com.kbtg.tempbackend.interfaces.imports;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.kbtg.tempbackend.interfaces.dtos.UserImportRecord;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * User Import Reader - Lazily parses a bulk import file one row at a time
+ * Only the current row is held in memory, so files of any size can be imported
+ * straight from the request body. Rows that cannot be parsed are returned with a
+ * parse error instead of aborting the import.
+ */
+public abstract class UserImportReader implements Iterator<UserImportRecord>, Closeable {
+
+    public static final String CSV = "text/csv";
+    public static final String NDJSON = "application/x-ndjson";
+
+    private final BufferedReader reader;
+    private long lineNumber;
+    private long markedLineNumber;
+    private UserImportRecord next;
+
+    private UserImportReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+
+    /**
+     * CSV with a header row naming the columns: email, password, firstname, lastname, phoneNumber, birthday
+     * @throws IllegalArgumentException if the header is missing a column
+     */
+    public static UserImportReader csv(Reader reader) {
+        return new CsvReader(reader);
+    }
+
+    /**
+     * One JSON object per line with the same fields as the registration request
+     */
+    public static UserImportReader ndjson(Reader reader, ObjectMapper objectMapper) {
+        return new NdjsonReader(reader, objectMapper);
+    }
+
+    /**
+     * Pick the reader for a media type or file name
+     * @throws IllegalArgumentException if the format is not CSV or NDJSON
+     */
+    public static UserImportReader forFormat(String format, Reader reader, ObjectMapper objectMapper) {
+        String lower = format == null ? "" : format.toLowerCase(Locale.ROOT);
+        if (lower.startsWith(CSV) || lower.endsWith(".csv")) {
+            return csv(reader);
+        }
+        if (lower.startsWith(NDJSON) || lower.endsWith(".ndjson") || lower.endsWith(".jsonl")) {
+            return ndjson(reader, objectMapper);
+        }
+        throw new IllegalArgumentException("Unsupported import format: " + format);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = readRecord();
+        }
+        return next != null;
+    }
+
+    @Override
+    public UserImportRecord next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        UserImportRecord record = next;
+        next = null;
+        return record;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * @return The next record with its line number set, or null at end of input
+     */
+    protected abstract UserImportRecord readRecord();
+
+    /**
+     * @return The next non-blank line, or null at end of input
+     */
+    protected String readLine() {
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (!line.isBlank()) {
+                    return line;
+                }
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Continuation line of a quoted CSV field, which may itself be blank
+     * @param maxChars Most characters the line may hold, not counting its terminator
+     * @return The line, or null at end of input or if it is longer than maxChars
+     */
+    protected String readContinuation(int maxChars) {
+        try {
+            StringBuilder line = new StringBuilder();
+            int c;
+            while ((c = reader.read()) != -1) {
+                if (line.length() > maxChars) {
+                    return null;
+                }
+                if (c == '\n') {
+                    lineNumber++;
+                    int end = line.length();
+                    return line.substring(0, end > 0 && line.charAt(end - 1) == '\r' ? end - 1 : end);
+                }
+                line.append((char) c);
+            }
+            if (line.length() == 0) {
+                return null;
+            }
+            lineNumber++;
+            return line.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Remember the current position so a run of continuation lines can be given back
+     * @param readAheadLimit Most characters that will be read before {@link #rewind()}
+     */
+    protected void markPosition(int readAheadLimit) {
+        try {
+            reader.mark(readAheadLimit);
+            markedLineNumber = lineNumber;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Go back to the last marked position, so the lines read since are read again
+     */
+    protected void rewind() {
+        try {
+            reader.reset();
+            lineNumber = markedLineNumber;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    protected long getLineNumber() {
+        return lineNumber;
+    }
+
+    private static final class NdjsonReader extends UserImportReader {
+        private final ObjectReader recordReader;
+
+        private NdjsonReader(Reader reader, ObjectMapper objectMapper) {
+            super(reader);
+            this.recordReader = objectMapper.readerFor(UserImportRecord.class);
+        }
+
+        @Override
+        protected UserImportRecord readRecord() {
+            String line = readLine();
+            if (line == null) {
+                return null;
+            }
+            try {
+                UserImportRecord record = recordReader.readValue(line);
+                record.setLine(getLineNumber());
+                return record;
+            } catch (JsonProcessingException e) {
+                return UserImportRecord.unparseable(getLineNumber(), "Invalid JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private static final class CsvReader extends UserImportReader {
+        private static final String[] COLUMNS = {"email", "password", "firstname", "lastname", "phonenumber", "birthday"};
+        // A quoted field may span lines, but a stray quote must not swallow the rest of the file
+        private static final int MAX_QUOTED_FIELD_CHARS = 64 * 1024;
+        private static final int MAX_QUOTED_FIELD_LINES = 16;
+
+        private int[] columnIndex;
+
+        private CsvReader(Reader reader) {
+            super(reader);
+        }
+
+        @Override
+        protected UserImportRecord readRecord() {
+            if (columnIndex == null) {
+                readHeader();
+            }
+            String line = readLine();
+            if (line == null) {
+                return null;
+            }
+            long start = getLineNumber();
+            List<String> fields = parse(line);
+            if (fields == null) {
+                return UserImportRecord.unparseable(start, "Unterminated quoted field");
+            }
+            for (int index : columnIndex) {
+                if (index >= fields.size()) {
+                    return UserImportRecord.unparseable(start, "Expected at least " + (index + 1)
+                            + " columns but found " + fields.size());
+                }
+            }
+            UserImportRecord record = new UserImportRecord(
+                fields.get(columnIndex[0]),
+                fields.get(columnIndex[1]),
+                fields.get(columnIndex[2]),
+                fields.get(columnIndex[3]),
+                fields.get(columnIndex[4]),
+                fields.get(columnIndex[5]));
+            record.setLine(start);
+            return record;
+        }
+
+        private void readHeader() {
+            String header = readLine();
+            if (header == null) {
+                columnIndex = new int[0];
+                return;
+            }
+            List<String> names = parse(header);
+            if (names == null) {
+                throw new IllegalArgumentException("Invalid CSV header");
+            }
+            Map<String, Integer> positions = new HashMap<>();
+            for (int i = 0; i < names.size(); i++) {
+                // Tolerate a UTF-8 byte order mark and spacing around names
+                String name = names.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+                positions.putIfAbsent(name, i);
+            }
+            columnIndex = new int[COLUMNS.length];
+            for (int i = 0; i < COLUMNS.length; i++) {
+                Integer position = positions.get(COLUMNS[i]);
+                if (position == null) {
+                    throw new IllegalArgumentException("CSV header is missing column: " + COLUMNS[i]);
+                }
+                columnIndex[i] = position;
+            }
+        }
+
+        // RFC 4180 fields; returns null if a quoted field does not close within the limits above,
+        // leaving the reader on the line after the one the row started on
+        private List<String> parse(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int continuations = 0;
+            int budget = MAX_QUOTED_FIELD_CHARS;
+            int i = 0;
+            while (true) {
+                if (i == line.length()) {
+                    if (!quoted) {
+                        break;
+                    }
+                    if (continuations == 0) {
+                        // Room for every character and line terminator the limits let through
+                        markPosition(MAX_QUOTED_FIELD_CHARS + 2 * (MAX_QUOTED_FIELD_LINES + 1));
+                    }
+                    String more = continuations < MAX_QUOTED_FIELD_LINES ? readContinuation(budget) : null;
+                    if (more == null) {
+                        rewind();
+                        return null;
+                    }
+                    continuations++;
+                    budget -= more.length();
+                    field.append('\n');
+                    line = more;
+                    i = 0;
+                    continue;
+                }
+                char c = line.charAt(i++);
+                if (quoted) {
+                    if (c == '"') {
+                        if (i < line.length() && line.charAt(i) == '"') {
+                            field.append('"');
+                            i++;
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package com.kbtg.tempbackend.util;
 
+import com.kbtg.tempbackend.domain.services.TokenVerification;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -17,9 +22,15 @@ public class JwtUtil {
 
     private static final String SECRET = "mySecretKeyForJwtTokenGenerationThatIsLongEnoughForHS256Algorithm";
     private static final int JWT_TOKEN_VALIDITY = 5 * 60 * 60; // 5 hours
+    public static final String USER_ID_CLAIM = "uid";
 
     private final SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes());
 
+    // Parsers are immutable and thread-safe, so one instance serves every request
+    private final JwtParser parser = Jwts.parser()
+            .verifyWith(key)
+            .build();
+
     // Retrieve username from jwt token
     public String getUsernameFromToken(String token) {
         return getClaimFromToken(token, Claims::getSubject);
@@ -37,13 +48,35 @@ public class JwtUtil {
 
     // For retrieving any information from token we will need the secret key
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
+        return parser.parseSignedClaims(token)
                 .getPayload();
     }
 
+    // Parse and verify the token once, returning every claim the caller needs.
+    // Never throws: malformed or tampered tokens yield an invalid result.
+    public TokenVerification verifyToken(String token) {
+        try {
+            Claims claims = getAllClaimsFromToken(token);
+            return TokenVerification.valid(claims.getSubject(), getUserId(claims),
+                    toInstant(claims.getExpiration()), toInstant(claims.getIssuedAt()));
+        } catch (ExpiredJwtException e) {
+            Claims claims = e.getClaims();
+            return TokenVerification.expired(claims.getSubject(), getUserId(claims),
+                    toInstant(claims.getExpiration()), toInstant(claims.getIssuedAt()));
+        } catch (JwtException | IllegalArgumentException e) {
+            return TokenVerification.invalid();
+        }
+    }
+
+    private static Long getUserId(Claims claims) {
+        Object userId = claims.get(USER_ID_CLAIM);
+        return userId instanceof Number ? ((Number) userId).longValue() : null;
+    }
+
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
+    }
+
     // Check if the token has expired
     public Boolean isTokenExpired(String token) {
         final Date expiration = getExpirationDateFromToken(token);
@@ -56,6 +89,15 @@ public class JwtUtil {
         return createToken(claims, email);
     }
 
+    // Generate token carrying the user id, so stateless authentication needs no lookup
+    public String generateToken(Long userId, String email) {
+        Map<String, Object> claims = new HashMap<>();
+        if (userId != null) {
+            claims.put(USER_ID_CLAIM, userId);
+        }
+        return createToken(claims, email);
+    }
+
     // While creating the token -
     // 1. Define claims of the token, like Issuer, Expiration, Subject, and the ID
     // 2. Sign the JWT using the HS512 algorithm and secret key.
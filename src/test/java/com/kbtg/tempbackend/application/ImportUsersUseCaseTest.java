@@ -0,0 +1,307 @@
+package com.kbtg.tempbackend.application;
+
+import com.kbtg.tempbackend.application.usecases.ImportUsersUseCase;
+import com.kbtg.tempbackend.domain.entities.UserEntity;
+import com.kbtg.tempbackend.domain.exceptions.DuplicateEmailException;
+import com.kbtg.tempbackend.domain.repositories.UserRepositoryPort;
+import com.kbtg.tempbackend.domain.services.PasswordEncoderPort;
+import com.kbtg.tempbackend.interfaces.dtos.UserImportEvent;
+import com.kbtg.tempbackend.interfaces.dtos.UserImportRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImportUsersUseCaseTest {
+
+    private static final String BCRYPT_HASH = "$2a$10$abcdefghijklmnopqrstuuv8bS6T1cbI2hE0sYQ5bYH4b0w6x5eKy";
+
+    private InMemoryUserRepository userRepository;
+    private FakePasswordEncoder passwordEncoder;
+    private ForkJoinPool hashingPool;
+    private List<UserImportEvent> events;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = new InMemoryUserRepository();
+        passwordEncoder = new FakePasswordEncoder();
+        hashingPool = new ForkJoinPool(2);
+        events = new ArrayList<>();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hashingPool.shutdownNow();
+    }
+
+    @Test
+    void execute_DuplicateEmailInBatch_KeepsFirstRow() {
+        // Given
+        List<UserImportRecord> records = List.of(
+                record(2, "a@example.com", "first"),
+                record(3, "a@example.com", "second"),
+                record(4, "b@example.com", "secret"));
+
+        // When
+        UserImportEvent done = useCase(10).execute(records.iterator(), events::add);
+
+        // Then
+        assertSummary(done, 3, 2, 1);
+        UserImportEvent error = errors().get(0);
+        assertEquals(3L, error.getLine());
+        assertEquals("Duplicate email in import", error.getMessage());
+        assertEquals("hashed:first", userRepository.password("a@example.com"));
+    }
+
+    @Test
+    void execute_ExistingEmail_IsRejectedBeforeHashing() {
+        // Given
+        userRepository.save(user("taken@example.com"));
+        List<UserImportRecord> records = List.of(
+                record(2, "taken@example.com", "secret"),
+                record(3, "new@example.com", "secret"));
+
+        // When
+        UserImportEvent done = useCase(10).execute(records.iterator(), events::add);
+
+        // Then
+        assertSummary(done, 2, 1, 1);
+        assertEquals("Email already exists", errors().get(0).getMessage());
+        assertEquals(2L, errors().get(0).getLine());
+        assertEquals(1, passwordEncoder.encodeCalls.get());
+    }
+
+    @Test
+    void execute_DuplicateAcrossBatches_IsCaughtByExistingEmailCheck() {
+        // Given - the first batch is committed before the second is checked
+        List<UserImportRecord> records = List.of(
+                record(2, "a@example.com", "secret"),
+                record(3, "b@example.com", "secret"),
+                record(4, "a@example.com", "secret"));
+
+        // When
+        UserImportEvent done = useCase(2).execute(records.iterator(), events::add);
+
+        // Then
+        assertSummary(done, 3, 2, 1);
+        assertEquals(4L, errors().get(0).getLine());
+        assertEquals("Email already exists", errors().get(0).getMessage());
+        long progressEvents = events.stream().filter(e -> UserImportEvent.PROGRESS.equals(e.getType())).count();
+        assertEquals(2, progressEvents);
+    }
+
+    @Test
+    void execute_EncodedPassword_IsStoredUnchanged() {
+        // Given
+        List<UserImportRecord> records = List.of(
+                record(2, "migrated@example.com", BCRYPT_HASH),
+                record(3, "raw@example.com", "secret"));
+
+        // When
+        UserImportEvent done = useCase(10).execute(records.iterator(), events::add);
+
+        // Then
+        assertSummary(done, 2, 2, 0);
+        assertEquals(BCRYPT_HASH, userRepository.password("migrated@example.com"));
+        assertEquals("hashed:secret", userRepository.password("raw@example.com"));
+        assertEquals(1, passwordEncoder.encodeCalls.get());
+    }
+
+    @Test
+    void execute_SaveAllFails_RetriesRowByRow() {
+        // Given - b@example.com is registered after the existence check but before the batch is saved
+        userRepository.registerBeforeNextSaveAll = "b@example.com";
+        List<UserImportRecord> records = List.of(
+                record(2, "a@example.com", "secret"),
+                record(3, "b@example.com", "secret"),
+                record(4, "c@example.com", "secret"));
+
+        // When
+        UserImportEvent done = useCase(10).execute(records.iterator(), events::add);
+
+        // Then
+        assertSummary(done, 3, 2, 1);
+        assertEquals(3L, errors().get(0).getLine());
+        assertEquals("Email already exists", errors().get(0).getMessage());
+        assertEquals("hashed:secret", userRepository.password("a@example.com"));
+        assertEquals("hashed:secret", userRepository.password("c@example.com"));
+        assertEquals(3, userRepository.count());
+    }
+
+    @Test
+    void execute_InvalidRows_AreReportedAndSkipped() {
+        // Given
+        UserImportRecord badBirthday = record(3, "b@example.com", "secret");
+        badBirthday.setBirthday("01/01/1990");
+        List<UserImportRecord> records = List.of(
+                UserImportRecord.unparseable(2, "Unterminated quoted field"),
+                badBirthday,
+                record(4, "not-an-email", "secret"),
+                record(5, "d@example.com", "secret"));
+
+        // When
+        UserImportEvent done = useCase(10).execute(records.iterator(), events::add);
+
+        // Then
+        assertSummary(done, 4, 1, 3);
+        List<String> messages = errors().stream().map(UserImportEvent::getMessage).collect(Collectors.toList());
+        assertEquals(List.of("Unterminated quoted field", "Birthday must be a date in yyyy-MM-dd format",
+                "Email should be valid"), messages);
+    }
+
+    private ImportUsersUseCase useCase(int batchSize) {
+        return new ImportUsersUseCase(userRepository, passwordEncoder, hashingPool, batchSize);
+    }
+
+    private List<UserImportEvent> errors() {
+        return events.stream().filter(e -> UserImportEvent.ERROR.equals(e.getType())).collect(Collectors.toList());
+    }
+
+    private void assertSummary(UserImportEvent done, long processed, long imported, long failed) {
+        assertEquals(UserImportEvent.DONE, done.getType());
+        assertEquals(processed, done.getProcessed());
+        assertEquals(imported, done.getImported());
+        assertEquals(failed, done.getFailed());
+        assertSame(done, events.get(events.size() - 1));
+    }
+
+    private static UserImportRecord record(long line, String email, String password) {
+        UserImportRecord record = new UserImportRecord(email, password, "John", "Doe", "0812345678", "1990-01-01");
+        record.setLine(line);
+        return record;
+    }
+
+    private static UserEntity user(String email) {
+        return new UserEntity(email, "hashed:secret", "John", "Doe", "0812345678", LocalDate.of(1990, 1, 1));
+    }
+
+    private static final class FakePasswordEncoder implements PasswordEncoderPort {
+        private final AtomicInteger encodeCalls = new AtomicInteger();
+
+        @Override
+        public String encode(String rawPassword) {
+            encodeCalls.incrementAndGet();
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(String rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+
+        @Override
+        public boolean needsRehash(String encodedPassword) {
+            return false;
+        }
+
+        @Override
+        public boolean isEncoded(String password) {
+            return password.startsWith("$2a$");
+        }
+    }
+
+    // Keyed by email and, like the real store, all-or-nothing on saveAll
+    private static final class InMemoryUserRepository implements UserRepositoryPort {
+        private final Map<String, UserEntity> users = new ConcurrentHashMap<>();
+        private final AtomicLong ids = new AtomicLong();
+        private String registerBeforeNextSaveAll;
+
+        String password(String email) {
+            return users.get(email).getPassword();
+        }
+
+        @Override
+        public synchronized UserEntity save(UserEntity user) {
+            if (users.containsKey(user.getEmail())) {
+                throw new DuplicateEmailException(user.getEmail());
+            }
+            user.setId(ids.incrementAndGet());
+            users.put(user.getEmail(), user);
+            return user;
+        }
+
+        @Override
+        public synchronized List<UserEntity> saveAll(List<UserEntity> batch) {
+            if (registerBeforeNextSaveAll != null) {
+                save(user(registerBeforeNextSaveAll));
+                registerBeforeNextSaveAll = null;
+            }
+            for (UserEntity user : batch) {
+                if (users.containsKey(user.getEmail())) {
+                    throw new DuplicateEmailException(null);
+                }
+            }
+            return batch.stream().map(this::save).collect(Collectors.toList());
+        }
+
+        @Override
+        public Optional<UserEntity> findByEmail(String email) {
+            return Optional.ofNullable(users.get(email));
+        }
+
+        @Override
+        public Optional<UserEntity> findById(Long id) {
+            return users.values().stream().filter(u -> u.getId().equals(id)).findFirst();
+        }
+
+        @Override
+        public List<UserEntity> findAllById(Collection<Long> ids) {
+            return users.values().stream().filter(u -> ids.contains(u.getId())).collect(Collectors.toList());
+        }
+
+        @Override
+        public boolean existsByEmail(String email) {
+            return users.containsKey(email);
+        }
+
+        @Override
+        public Set<String> findExistingEmails(Collection<String> emails) {
+            return emails.stream().filter(users::containsKey).collect(Collectors.toSet());
+        }
+
+        @Override
+        public List<UserEntity> findAll() {
+            return new ArrayList<>(users.values());
+        }
+
+        @Override
+        public List<UserEntity> findPage(Long afterId, int limit) {
+            return findAll();
+        }
+
+        @Override
+        public Stream<UserEntity> streamAll() {
+            return users.values().stream();
+        }
+
+        @Override
+        public long count() {
+            return users.size();
+        }
+
+        @Override
+        public void deleteById(Long id) {
+            users.values().removeIf(u -> u.getId().equals(id));
+        }
+
+        @Override
+        public void deleteAll() {
+            users.clear();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.kbtg.tempbackend.application;
+
+import com.kbtg.tempbackend.application.services.RequestIdentityMap;
+import com.kbtg.tempbackend.domain.entities.UserEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestIdentityMapTest {
+
+    private RequestIdentityMap identityMap;
+    private UserEntity user;
+
+    @BeforeEach
+    void setUp() {
+        identityMap = new RequestIdentityMap();
+        user = new UserEntity(1L, "test@example.com", "hashed", "John", "Doe", "1234567890",
+                LocalDate.of(1990, 1, 1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void getByEmail_SameRequest_ReturnsStoredUser() {
+        // Given
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        identityMap.put(user);
+
+        // When
+        UserEntity found = identityMap.getByEmail("test@example.com");
+
+        // Then
+        assertSame(user, found);
+    }
+
+    @Test
+    void getByEmail_NextRequest_ReturnsNull() {
+        // Given
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        identityMap.put(user);
+
+        // When
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        // Then
+        assertNull(identityMap.getByEmail("test@example.com"));
+    }
+
+    @Test
+    void put_OutsideRequest_IsIgnored() {
+        // When
+        identityMap.put(user);
+
+        // Then
+        assertNull(identityMap.getByEmail("test@example.com"));
+    }
+}
@@ -0,0 +1,121 @@
+package com.kbtg.tempbackend.application;
+
+import com.kbtg.tempbackend.application.services.SingleFlight;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private SingleFlight<String, String> singleFlight;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        singleFlight = new SingleFlight<>();
+        executions = new AtomicInteger();
+    }
+
+    @Test
+    void execute_ConcurrentSameKey_RunsOnce() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<String>> results = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 8; i++) {
+            results.add(pool.submit(() -> singleFlight.execute("key", () -> {
+                executions.incrementAndGet();
+                await(release);
+                return "value";
+            })));
+        }
+        while (singleFlight.getSharedCount() < 7) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        // Then
+        for (Future<String> result : results) {
+            assertEquals("value", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, executions.get());
+        assertEquals(0, singleFlight.getInFlightCount());
+        pool.shutdown();
+    }
+
+    @Test
+    void execute_AfterCompletion_RunsAgain() {
+        // When
+        singleFlight.execute("key", () -> "v" + executions.incrementAndGet());
+        String second = singleFlight.execute("key", () -> "v" + executions.incrementAndGet());
+
+        // Then
+        assertEquals("v2", second);
+        assertEquals(0, singleFlight.getSharedCount());
+    }
+
+    @Test
+    void execute_Failure_IsNotRemembered() {
+        // When
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("key", () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        // Then
+        assertEquals("ok", singleFlight.execute("key", () -> "ok"));
+    }
+
+    @Test
+    void executeAsync_SameKeyWhileInFlight_SharesResult() {
+        // Given
+        CompletableFuture<String> started = new CompletableFuture<>();
+
+        // When
+        CompletableFuture<String> first = singleFlight.executeAsync("key", () -> {
+            executions.incrementAndGet();
+            return started;
+        });
+        CompletableFuture<String> second = singleFlight.executeAsync("key", () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+        started.complete("value");
+
+        // Then
+        assertEquals("value", first.join());
+        assertEquals("value", second.join());
+        assertEquals(1, executions.get());
+        assertEquals(0, singleFlight.getInFlightCount());
+    }
+
+    @Test
+    void executeAsync_DifferentKeys_RunSeparately() {
+        // When
+        singleFlight.executeAsync("a", () -> CompletableFuture.completedFuture("a" + executions.incrementAndGet()));
+        singleFlight.executeAsync("b", () -> CompletableFuture.completedFuture("b" + executions.incrementAndGet()));
+
+        // Then
+        assertEquals(2, executions.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
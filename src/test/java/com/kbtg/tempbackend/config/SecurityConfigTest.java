@@ -0,0 +1,132 @@
+package com.kbtg.tempbackend.config;
+
+import com.kbtg.tempbackend.util.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+// Stateless tokens need no stored user; a file database keeps every connection on the same data
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:sqlite:target/security-config-test.db",
+    "spring.jpa.database-platform=org.hibernate.community.dialect.SQLiteDialect",
+    "jwt.auth.stateless=true",
+    "security.admin-emails=admin@example.com"
+})
+class SecurityConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void listUsers_OrdinaryUser_IsForbidden() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/users")
+                .header(HttpHeaders.AUTHORIZATION, bearer("user@example.com")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void listUsers_Admin_IsAllowed() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/users").param("limit", "1")
+                .header(HttpHeaders.AUTHORIZATION, bearer("admin@example.com")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void batchProfiles_OrdinaryUser_IsForbidden() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/users/batch")
+                .header(HttpHeaders.AUTHORIZATION, bearer("user@example.com"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[1]}"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void batchProfiles_Admin_IsAllowed() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/users/batch")
+                .header(HttpHeaders.AUTHORIZATION, bearer("admin@example.com"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[1]}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void importUsers_OrdinaryUser_IsForbidden() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/users/import")
+                .header(HttpHeaders.AUTHORIZATION, bearer("user@example.com"))
+                .contentType("application/x-ndjson")
+                .content(""))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void importUsers_Admin_IsAllowed() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/users/import")
+                .header(HttpHeaders.AUTHORIZATION, bearer("admin@example.com"))
+                .contentType("application/x-ndjson")
+                .content(""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void exportUsers_OrdinaryUser_IsForbidden() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/users/export")
+                .header(HttpHeaders.AUTHORIZATION, bearer("user@example.com")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void checkEmails_OrdinaryUser_IsForbidden() throws Exception {
+        // When & Then - a bulk lookup would let any account enumerate registered emails
+        mockMvc.perform(post("/api/users/check-emails")
+                .header(HttpHeaders.AUTHORIZATION, bearer("user@example.com"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"emails\":[\"a@example.com\"]}"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void checkEmails_Admin_IsAllowed() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/users/check-emails")
+                .header(HttpHeaders.AUTHORIZATION, bearer("admin@example.com"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"emails\":[\"a@example.com\"]}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void me_OrdinaryUser_IsStillAllowed() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/me")
+                .header(HttpHeaders.AUTHORIZATION, bearer("user@example.com"))
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(not(403)));
+    }
+
+    private String bearer(String email) {
+        return "Bearer " + jwtUtil.generateToken(1L, email);
+    }
+}
@@ -0,0 +1,190 @@
+package com.kbtg.tempbackend.infrastructure;
+
+import com.kbtg.tempbackend.domain.entities.UserEntity;
+import com.kbtg.tempbackend.domain.exceptions.DuplicateEmailException;
+import com.kbtg.tempbackend.domain.repositories.UserRepositoryPort;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Behaviour every UserRepositoryPort implementation must share; each adapter's test extends it
+ */
+public abstract class UserRepositoryPortContractTest {
+
+    /**
+     * @return The repository under test, empty at the start of each test
+     */
+    protected abstract UserRepositoryPort repository();
+
+    protected static UserEntity newUser(String email) {
+        return new UserEntity(email, "hashed-password", "John", "Doe", "0812345678", LocalDate.of(1990, 1, 1));
+    }
+
+    @Test
+    void save_NewUser_AssignsIdAndCanBeFound() {
+        // When
+        UserEntity saved = repository().save(newUser("john@example.com"));
+
+        // Then
+        assertNotNull(saved.getId());
+        UserEntity byId = repository().findById(saved.getId()).orElseThrow();
+        UserEntity byEmail = repository().findByEmail("john@example.com").orElseThrow();
+        assertEquals(saved.getId(), byEmail.getId());
+        assertEquals("hashed-password", byId.getPassword());
+        assertEquals("John", byId.getFirstname());
+        assertEquals("Doe", byId.getLastname());
+        assertEquals("0812345678", byId.getPhoneNumber());
+        assertEquals(LocalDate.of(1990, 1, 1), byId.getBirthday());
+    }
+
+    @Test
+    void save_DuplicateEmail_ThrowsDuplicateEmailException() {
+        // Given
+        repository().save(newUser("john@example.com"));
+
+        // When & Then
+        assertThrows(DuplicateEmailException.class, () -> repository().save(newUser("john@example.com")));
+        assertEquals(1, repository().count());
+    }
+
+    @Test
+    void save_ExistingUser_UpdatesFieldsAndEmail() {
+        // Given
+        UserEntity saved = repository().save(newUser("old@example.com"));
+        saved.setEmail("new@example.com");
+        saved.setPassword("rehashed-password");
+
+        // When
+        repository().save(saved);
+
+        // Then
+        assertTrue(repository().findByEmail("old@example.com").isEmpty());
+        UserEntity found = repository().findByEmail("new@example.com").orElseThrow();
+        assertEquals(saved.getId(), found.getId());
+        assertEquals("rehashed-password", found.getPassword());
+        assertEquals(1, repository().count());
+    }
+
+    @Test
+    void saveAll_NewUsers_AssignsIdsInOrder() {
+        // When
+        List<UserEntity> saved = repository().saveAll(List.of(newUser("a@example.com"), newUser("b@example.com")));
+
+        // Then
+        assertEquals(2, saved.size());
+        assertEquals("a@example.com", saved.get(0).getEmail());
+        assertEquals("b@example.com", saved.get(1).getEmail());
+        assertNotEquals(saved.get(0).getId(), saved.get(1).getId());
+        assertEquals(2, repository().count());
+    }
+
+    @Test
+    void saveAll_OneEmailTaken_SavesNone() {
+        // Given
+        repository().save(newUser("taken@example.com"));
+
+        // When & Then
+        assertThrows(DuplicateEmailException.class,
+                () -> repository().saveAll(List.of(newUser("fresh@example.com"), newUser("taken@example.com"))));
+        assertFalse(repository().existsByEmail("fresh@example.com"));
+        assertEquals(1, repository().count());
+    }
+
+    @Test
+    void findAllById_MixedIds_ReturnsOnlyExisting() {
+        // Given
+        UserEntity a = repository().save(newUser("a@example.com"));
+        UserEntity b = repository().save(newUser("b@example.com"));
+
+        // When
+        List<UserEntity> found = repository().findAllById(List.of(a.getId(), b.getId(), a.getId(), 999_999L));
+
+        // Then
+        Set<Long> ids = found.stream().map(UserEntity::getId).collect(Collectors.toSet());
+        assertEquals(Set.of(a.getId(), b.getId()), ids);
+    }
+
+    @Test
+    void existsByEmail_AndFindExistingEmails() {
+        // Given
+        repository().save(newUser("a@example.com"));
+
+        // When & Then
+        assertTrue(repository().existsByEmail("a@example.com"));
+        assertFalse(repository().existsByEmail("missing@example.com"));
+        assertEquals(Set.of("a@example.com"),
+                repository().findExistingEmails(List.of("a@example.com", "missing@example.com")));
+    }
+
+    @Test
+    void findPage_AfterId_ReturnsNextUsersInIdOrder() {
+        // Given
+        List<UserEntity> saved = repository().saveAll(List.of(
+                newUser("a@example.com"), newUser("b@example.com"), newUser("c@example.com")));
+
+        // When
+        List<UserEntity> first = repository().findPage(null, 2);
+        List<UserEntity> second = repository().findPage(first.get(1).getId(), 2);
+
+        // Then
+        assertEquals(List.of(saved.get(0).getId(), saved.get(1).getId()),
+                first.stream().map(UserEntity::getId).collect(Collectors.toList()));
+        assertEquals(List.of(saved.get(2).getId()),
+                second.stream().map(UserEntity::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void streamAll_ReturnsUsersInIdOrderWithoutPasswords() {
+        // Given
+        repository().saveAll(List.of(newUser("a@example.com"), newUser("b@example.com")));
+
+        // When
+        List<UserEntity> streamed;
+        try (Stream<UserEntity> users = repository().streamAll()) {
+            streamed = users.collect(Collectors.toList());
+        }
+
+        // Then
+        assertEquals(2, streamed.size());
+        assertTrue(streamed.get(0).getId() < streamed.get(1).getId());
+        assertEquals("a@example.com", streamed.get(0).getEmail());
+        assertNull(streamed.get(0).getPassword());
+        assertEquals(2, repository().findAll().size());
+    }
+
+    @Test
+    void deleteById_RemovesUserAndFreesEmail() {
+        // Given
+        UserEntity saved = repository().save(newUser("a@example.com"));
+
+        // When
+        repository().deleteById(saved.getId());
+
+        // Then
+        assertEquals(Optional.empty(), repository().findById(saved.getId()));
+        assertFalse(repository().existsByEmail("a@example.com"));
+        assertEquals(0, repository().count());
+        assertNotNull(repository().save(newUser("a@example.com")).getId());
+    }
+
+    @Test
+    void deleteAll_RemovesEveryUser() {
+        // Given
+        repository().saveAll(List.of(newUser("a@example.com"), newUser("b@example.com")));
+
+        // When
+        repository().deleteAll();
+
+        // Then
+        assertEquals(0, repository().count());
+        assertTrue(repository().findAll().isEmpty());
+    }
+}
@@ -0,0 +1,299 @@
+package com.kbtg.tempbackend.infrastructure.adapters;
+
+import com.kbtg.tempbackend.domain.entities.UserEntity;
+import com.kbtg.tempbackend.domain.repositories.UserRepositoryPort;
+import com.kbtg.tempbackend.infrastructure.metrics.MetricsRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingUserRepositoryTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private InMemoryUserRepository store;
+    private AtomicLong clock;
+    private CachingUserRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryUserRepository();
+        clock = new AtomicLong();
+        repository = new CachingUserRepository(store, true, 32, 60 * SECOND, clock::get);
+        store.save(user(null, "test@example.com"));
+    }
+
+    @Test
+    void findByEmail_RepeatLookup_ServedFromCache() {
+        // When
+        repository.findByEmail("test@example.com");
+        Optional<UserEntity> second = repository.findByEmail("test@example.com");
+
+        // Then
+        assertTrue(second.isPresent());
+        assertEquals("test@example.com", second.get().getEmail());
+        assertEquals(1, store.queries.get());
+        assertEquals(0.5, repository.getHitRatio());
+    }
+
+    @Test
+    void findById_AfterFindByEmail_ServedFromCache() {
+        // Given
+        Long id = repository.findByEmail("test@example.com").orElseThrow().getId();
+
+        // When
+        Optional<UserEntity> byId = repository.findById(id);
+
+        // Then
+        assertTrue(byId.isPresent());
+        assertEquals(1, store.queries.get());
+    }
+
+    @Test
+    void findByEmail_ReturnedCopy_DoesNotChangeCache() {
+        // Given
+        UserEntity first = repository.findByEmail("test@example.com").orElseThrow();
+
+        // When
+        first.setFirstname("Changed");
+
+        // Then
+        assertEquals("John", repository.findByEmail("test@example.com").orElseThrow().getFirstname());
+    }
+
+    @Test
+    void save_ExistingUser_InvalidatesCache() {
+        // Given
+        UserEntity cached = repository.findByEmail("test@example.com").orElseThrow();
+        cached.setPassword("rehashed");
+
+        // When
+        repository.save(cached);
+        UserEntity reloaded = repository.findByEmail("test@example.com").orElseThrow();
+
+        // Then
+        assertEquals("rehashed", reloaded.getPassword());
+        assertEquals(2, store.queries.get());
+    }
+
+    @Test
+    void deleteById_InvalidatesCache() {
+        // Given
+        Long id = repository.findByEmail("test@example.com").orElseThrow().getId();
+
+        // When
+        repository.deleteById(id);
+
+        // Then
+        assertFalse(repository.findByEmail("test@example.com").isPresent());
+        assertFalse(repository.findById(id).isPresent());
+    }
+
+    @Test
+    void findByEmail_AfterTtl_ReloadsFromStore() {
+        // Given
+        repository.findByEmail("test@example.com");
+
+        // When
+        clock.addAndGet(61 * SECOND);
+        repository.findByEmail("test@example.com");
+
+        // Then
+        assertEquals(2, store.queries.get());
+    }
+
+    @Test
+    void findAllById_QueriesOnlyMisses() {
+        // Given
+        store.save(user(null, "second@example.com"));
+        repository.findById(1L);
+
+        // When
+        List<UserEntity> users = repository.findAllById(List.of(1L, 2L, 2L, 99L));
+
+        // Then
+        assertEquals(2, users.size());
+        assertEquals(2, store.queries.get());
+        assertTrue(repository.findById(2L).isPresent());
+        assertEquals(2, store.queries.get());
+    }
+
+    @Test
+    void findById_ManyUsers_StaysBounded() {
+        // Given
+        for (int i = 0; i < 1000; i++) {
+            store.save(user(null, "user" + i + "@example.com"));
+        }
+
+        // When
+        for (long id = 1; id <= 1000; id++) {
+            repository.findById(id);
+        }
+
+        // Then
+        assertTrue(repository.getEvictionCount() >= 1000 - 32);
+    }
+
+    @Test
+    void findByEmail_ManyUsers_EmailIndexStaysBounded() {
+        // Given
+        for (int i = 0; i < 1000; i++) {
+            store.save(user(null, "user" + i + "@example.com"));
+        }
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            repository.findByEmail("user" + i + "@example.com");
+        }
+
+        // Then
+        assertTrue(repository.emailIndexSize() <= 32);
+    }
+
+    @Test
+    void findByEmail_RacingInvalidations_LeaveNoStaleMappings() throws InterruptedException {
+        // Given
+        for (int i = 0; i < 8; i++) {
+            store.save(user(null, "user" + i + "@example.com"));
+        }
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    repository.findByEmail("user" + (i % 8) + "@example.com");
+                }
+            }));
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    repository.save(store.findById((long) (i % 8) + 2).orElseThrow());
+                }
+            }));
+        }
+
+        // When
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (long id = 1; id <= 9; id++) {
+            repository.save(store.findById(id).orElseThrow());
+        }
+
+        // Then - every user was invalidated last, so no mapping may remain
+        assertEquals(0, repository.emailIndexSize());
+    }
+
+    @Test
+    void bindTo_ReportsHitsMissesAndRatio() {
+        // Given
+        MetricsRegistry registry = new MetricsRegistry().bind(repository);
+
+        // When
+        repository.findByEmail("test@example.com");
+        repository.findByEmail("test@example.com");
+        repository.findByEmail("test@example.com");
+        Map<String, Number> metrics = registry.snapshot();
+
+        // Then
+        assertEquals(2L, metrics.get("users.cache.hits"));
+        assertEquals(1L, metrics.get("users.cache.misses"));
+        assertEquals(0L, metrics.get("users.cache.evictions"));
+        assertEquals(2.0 / 3, metrics.get("users.cache.hit-ratio").doubleValue(), 1e-9);
+    }
+
+    private static UserEntity user(Long id, String email) {
+        return new UserEntity(id, email, "hashed", "John", "Doe", "1234567890", LocalDate.of(1990, 1, 1));
+    }
+
+    private static final class InMemoryUserRepository implements UserRepositoryPort {
+        private final Map<Long, UserEntity> users = new ConcurrentHashMap<>();
+        private final AtomicLong ids = new AtomicLong();
+        private final AtomicInteger queries = new AtomicInteger();
+
+        @Override
+        public UserEntity save(UserEntity user) {
+            UserEntity saved = user(user.getId() != null ? user.getId() : ids.incrementAndGet(), user.getEmail());
+            saved.setPassword(user.getPassword());
+            users.put(saved.getId(), saved);
+            return saved;
+        }
+
+        @Override
+        public List<UserEntity> saveAll(List<UserEntity> batch) {
+            return batch.stream().map(this::save).collect(Collectors.toList());
+        }
+
+        @Override
+        public Optional<UserEntity> findByEmail(String email) {
+            queries.incrementAndGet();
+            return users.values().stream().filter(u -> u.getEmail().equals(email)).findFirst();
+        }
+
+        @Override
+        public Optional<UserEntity> findById(Long id) {
+            queries.incrementAndGet();
+            return Optional.ofNullable(users.get(id));
+        }
+
+        @Override
+        public List<UserEntity> findAllById(Collection<Long> ids) {
+            queries.incrementAndGet();
+            return ids.stream().distinct().map(users::get).filter(u -> u != null).collect(Collectors.toList());
+        }
+
+        @Override
+        public boolean existsByEmail(String email) {
+            return findByEmail(email).isPresent();
+        }
+
+        @Override
+        public Set<String> findExistingEmails(Collection<String> emails) {
+            return users.values().stream().map(UserEntity::getEmail).filter(emails::contains)
+                    .collect(Collectors.toSet());
+        }
+
+        @Override
+        public List<UserEntity> findAll() {
+            return new ArrayList<>(users.values());
+        }
+
+        @Override
+        public List<UserEntity> findPage(Long afterId, int limit) {
+            return findAll();
+        }
+
+        @Override
+        public Stream<UserEntity> streamAll() {
+            return users.values().stream();
+        }
+
+        @Override
+        public long count() {
+            return users.size();
+        }
+
+        @Override
+        public void deleteById(Long id) {
+            users.remove(id);
+        }
+
+        @Override
+        public void deleteAll() {
+            users.clear();
+        }
+    }
+}
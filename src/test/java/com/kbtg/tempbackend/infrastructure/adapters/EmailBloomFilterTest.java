@@ -0,0 +1,78 @@
+package com.kbtg.tempbackend.infrastructure.adapters;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailBloomFilterTest {
+
+    private EmailBloomFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new EmailBloomFilter(true, 10_000, 0.01);
+        filter.markLoaded();
+    }
+
+    @Test
+    void mightContain_AddedEmail_ReturnsTrue() {
+        // Given
+        filter.add("test@example.com");
+
+        // When & Then
+        assertTrue(filter.mightContain("test@example.com"));
+    }
+
+    @Test
+    void mightContain_NoFalseNegatives() {
+        // Given
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("user" + i + "@example.com");
+        }
+
+        // When & Then
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("user" + i + "@example.com"));
+        }
+    }
+
+    @Test
+    void mightContain_FalsePositiveRateNearConfigured() {
+        // Given
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("user" + i + "@example.com");
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+        assertEquals(100_000 - falsePositives, filter.getNegativeCount());
+    }
+
+    @Test
+    void mightContain_BeforeLoad_ReturnsTrue() {
+        // Given
+        EmailBloomFilter unloaded = new EmailBloomFilter(true, 10_000, 0.01);
+
+        // When & Then
+        assertTrue(unloaded.mightContain("test@example.com"));
+    }
+
+    @Test
+    void mightContain_Disabled_ReturnsTrue() {
+        // Given
+        EmailBloomFilter disabled = new EmailBloomFilter(false, 10_000, 0.01);
+        disabled.markLoaded();
+
+        // When & Then
+        assertTrue(disabled.mightContain("test@example.com"));
+    }
+}
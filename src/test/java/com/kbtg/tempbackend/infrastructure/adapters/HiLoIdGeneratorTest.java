@@ -0,0 +1,118 @@
+package com.kbtg.tempbackend.infrastructure.adapters;
+
+import com.kbtg.tempbackend.infrastructure.sqlite.SqliteWriteQueue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HiLoIdGeneratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+    private SqliteWriteQueue writeQueue;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:sqlite:" + tempDir.resolve("ids.db"));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate.execute("create table users (id bigint not null primary key)");
+        writeQueue = new SqliteWriteQueue(true, 64, 5000);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writeQueue.destroy();
+    }
+
+    @Test
+    void nextId_ConcurrentCallers_NeverRepeatAcrossBlocks() throws InterruptedException {
+        // Given
+        HiLoIdGenerator generator = generator(writeQueue, 10);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    assertTrue(ids.add(generator.nextId()));
+                }
+            }));
+        }
+
+        // When
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Then
+        assertEquals(4000, ids.size());
+        assertTrue(ids.stream().allMatch(id -> id > 0));
+    }
+
+    @Test
+    void nextId_AfterRestart_ContinuesPastReservedBlocks() {
+        // Given
+        HiLoIdGenerator first = generator(writeQueue, 10);
+        long last = 0;
+        for (int i = 0; i < 15; i++) {
+            last = first.nextId();
+        }
+
+        // When
+        long afterRestart = generator(writeQueue, 10).nextId();
+
+        // Then
+        assertTrue(afterRestart > last);
+    }
+
+    @Test
+    void nextId_ExistingRows_StartsPastHighestId() {
+        // Given
+        jdbcTemplate.update("insert into users (id) values (500)");
+
+        // When
+        long id = generator(writeQueue, 10).nextId();
+
+        // Then
+        assertEquals(501, id);
+    }
+
+    @Test
+    void nextId_FirstAllocationRolledBack_RecreatesTable() {
+        // Given - without the write queue the allocation joins the caller's transaction
+        HiLoIdGenerator generator = generator(new SqliteWriteQueue(false, 1, 0), 1);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            generator.nextId();
+            status.setRollbackOnly();
+        });
+
+        // When
+        long id = generator.nextId();
+
+        // Then
+        assertTrue(id > 0);
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "select count(*) from sqlite_master where name = 'id_allocator'", Integer.class));
+    }
+
+    private HiLoIdGenerator generator(SqliteWriteQueue queue, int blockSize) {
+        return new HiLoIdGenerator(jdbcTemplate, transactionManager, queue, blockSize);
+    }
+}
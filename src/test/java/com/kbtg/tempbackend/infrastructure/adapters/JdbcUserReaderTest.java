@@ -0,0 +1,124 @@
+package com.kbtg.tempbackend.infrastructure.adapters;
+
+import com.kbtg.tempbackend.domain.entities.UserEntity;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcUserReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private HikariDataSource dataSource;
+    private JdbcUserReader reader;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:sqlite:" + tempDir.resolve("users.db"));
+        config.setMaximumPoolSize(1);
+        dataSource = new HikariDataSource(config);
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("create table users (id bigint not null, birthday date not null, "
+                    + "email varchar(255) not null unique, firstname varchar(255) not null, "
+                    + "lastname varchar(255) not null, password varchar(255) not null, "
+                    + "phone_number varchar(255) not null, primary key (id))");
+        }
+        reader = new JdbcUserReader(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void findByEmail_ExistingUser_MapsEveryColumn() throws SQLException {
+        // Given
+        insert(7L, "test@example.com", LocalDate.of(1990, 1, 1));
+
+        // When
+        Optional<UserEntity> found = reader.findByEmail("test@example.com");
+
+        // Then
+        assertTrue(found.isPresent());
+        UserEntity user = found.get();
+        assertEquals(7L, user.getId());
+        assertEquals("test@example.com", user.getEmail());
+        assertEquals("hashed", user.getPassword());
+        assertEquals("John", user.getFirstname());
+        assertEquals("Doe", user.getLastname());
+        assertEquals("0812345678", user.getPhoneNumber());
+        assertEquals(LocalDate.of(1990, 1, 1), user.getBirthday());
+    }
+
+    @Test
+    void findById_MissingUser_ReturnsEmpty() throws SQLException {
+        // Given
+        insert(1L, "test@example.com", LocalDate.of(1990, 1, 1));
+
+        // When / Then
+        assertTrue(reader.findById(1L).isPresent());
+        assertTrue(reader.findById(2L).isEmpty());
+    }
+
+    @Test
+    void existsByEmailAndCount_ReflectStoredRows() throws SQLException {
+        // Given
+        insert(1L, "a@example.com", LocalDate.of(1990, 1, 1));
+        insert(2L, "b@example.com", LocalDate.of(2000, 2, 29));
+
+        // When / Then
+        assertTrue(reader.existsByEmail("a@example.com"));
+        assertFalse(reader.existsByEmail("c@example.com"));
+        assertEquals(2, reader.count());
+    }
+
+    @Test
+    void statements_AreReusedAcrossPoolCheckouts() throws SQLException {
+        // Given
+        insert(1L, "test@example.com", LocalDate.of(1990, 1, 1));
+        reader.findByEmail("test@example.com");
+
+        // When - the pool hands out the same physical connection again
+        reader.findByEmail("missing@example.com");
+        Optional<UserEntity> found = reader.findByEmail("test@example.com");
+
+        // Then
+        assertTrue(found.isPresent());
+        assertEquals(1, reader.getCachedConnectionCount());
+    }
+
+    private void insert(Long id, String email, LocalDate birthday) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "insert into users (id, birthday, email, firstname, lastname, password, phone_number) "
+                         + "values (?, ?, ?, ?, ?, ?, ?)")) {
+            // Bound the way Hibernate binds a LocalDate
+            statement.setLong(1, id);
+            statement.setDate(2, Date.valueOf(birthday));
+            statement.setString(3, email);
+            statement.setString(4, "John");
+            statement.setString(5, "Doe");
+            statement.setString(6, "hashed");
+            statement.setString(7, "0812345678");
+            statement.executeUpdate();
+        }
+    }
+}
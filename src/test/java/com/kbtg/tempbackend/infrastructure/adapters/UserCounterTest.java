@@ -0,0 +1,80 @@
+package com.kbtg.tempbackend.infrastructure.adapters;
+
+import com.kbtg.tempbackend.infrastructure.sqlite.SqliteWriteQueue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserCounterTest {
+
+    private AtomicLong databaseCount;
+    private AtomicInteger queries;
+    private UserCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        databaseCount = new AtomicLong(5);
+        queries = new AtomicInteger();
+        counter = new UserCounter(() -> {
+            queries.incrementAndGet();
+            return databaseCount.get();
+        }, new SqliteWriteQueue(false, 1, 0));
+    }
+
+    @Test
+    void get_SeedsOnceThenServesFromMemory() {
+        // When
+        long first = counter.get();
+        long second = counter.get();
+
+        // Then
+        assertEquals(5, first);
+        assertEquals(5, second);
+        assertEquals(1, queries.get());
+    }
+
+    @Test
+    void incrementAndDecrement_TrackWrites() {
+        // Given
+        counter.seed();
+
+        // When
+        counter.increment();
+        counter.increment();
+        counter.decrement();
+
+        // Then
+        assertEquals(6, counter.get());
+        assertEquals(1, queries.get());
+    }
+
+    @Test
+    void reconcile_CorrectsDrift() {
+        // Given
+        counter.seed();
+        counter.increment();
+        databaseCount.set(42);
+
+        // When
+        counter.reconcile();
+
+        // Then
+        assertEquals(42, counter.get());
+    }
+
+    @Test
+    void reset_SetsCountToZero() {
+        // Given
+        counter.seed();
+
+        // When
+        counter.reset();
+
+        // Then
+        assertEquals(0, counter.get());
+    }
+}
@@ -0,0 +1,191 @@
+package com.kbtg.tempbackend.infrastructure.adapters;
+
+import com.kbtg.tempbackend.domain.entities.UserEntity;
+import com.kbtg.tempbackend.infrastructure.entities.UserJpaEntity;
+import com.kbtg.tempbackend.infrastructure.sqlite.SqliteWriteQueue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserInsertBatcherTest {
+
+    @Mock
+    private UserJpaRepository jpaRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SqliteWriteQueue writeQueue;
+    private UserCounter userCounter;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        writeQueue = new SqliteWriteQueue(true, 64, 5000);
+        userCounter = new UserCounter(() -> 0, writeQueue);
+        userCounter.reconcile();
+        callers = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        callers.shutdownNow();
+        writeQueue.destroy();
+    }
+
+    @Test
+    void insert_ConcurrentCallers_ShareOneCommit() throws Exception {
+        // Given - the writer is busy while eight inserts queue up
+        when(jpaRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        UserInsertBatcher batcher = batcher(30_000);
+        CountDownLatch release = blockWriter();
+        List<Future<UserJpaEntity>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            UserJpaEntity entity = entity(i, "user" + i + "@example.com");
+            results.add(callers.submit(() -> batcher.insert(entity)));
+        }
+        awaitQueued(batcher, 8);
+
+        // When
+        release.countDown();
+
+        // Then
+        for (int i = 0; i < 8; i++) {
+            assertEquals("user" + i + "@example.com", results.get(i).get(5, TimeUnit.SECONDS).getEmail());
+        }
+        assertEquals(1, batcher.getBatchCount());
+        assertEquals(8, batcher.getRowCount());
+        assertEquals(8, userCounter.get());
+        verify(jpaRepository, never()).save(any());
+    }
+
+    @Test
+    void insert_OneBadRow_FailsOnlyThatCaller() throws Exception {
+        // Given
+        when(jpaRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("UNIQUE users.email"));
+        when(jpaRepository.save(any())).thenAnswer(invocation -> {
+            UserJpaEntity entity = invocation.getArgument(0);
+            if (entity.getEmail().startsWith("dup")) {
+                throw new DataIntegrityViolationException("UNIQUE users.email");
+            }
+            return entity;
+        });
+        UserInsertBatcher batcher = batcher(30_000);
+        CountDownLatch release = blockWriter();
+        Future<UserJpaEntity> good = callers.submit(() -> batcher.insert(entity(1, "good@example.com")));
+        Future<UserJpaEntity> bad = callers.submit(() -> batcher.insert(entity(2, "dup@example.com")));
+        awaitQueued(batcher, 2);
+
+        // When
+        release.countDown();
+
+        // Then
+        assertEquals("good@example.com", good.get(5, TimeUnit.SECONDS).getEmail());
+        Exception thrown = assertThrows(Exception.class, () -> bad.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(DataIntegrityViolationException.class, thrown.getCause());
+        assertEquals(1, userCounter.get());
+    }
+
+    @Test
+    void insert_ErrorDuringCommit_IsRethrownToEveryCaller() {
+        // Given
+        when(jpaRepository.saveAll(anyList())).thenThrow(new StackOverflowError());
+        UserInsertBatcher batcher = batcher(30_000);
+
+        // When & Then - the caller is released with the error instead of waiting forever
+        assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertThrows(StackOverflowError.class, () -> batcher.insert(entity(1, "a@example.com"))));
+    }
+
+    @Test
+    void insert_WriterStalled_TimesOutAndSkipsTheRow() throws Exception {
+        // Given
+        UserInsertBatcher batcher = batcher(50);
+        CountDownLatch release = blockWriter();
+
+        // When
+        assertThrows(QueryTimeoutException.class, () -> batcher.insert(entity(1, "late@example.com")));
+        release.countDown();
+        writeQueue.run(() -> { });
+
+        // Then
+        verify(jpaRepository, never()).saveAll(anyList());
+        assertEquals(0, batcher.getRowCount());
+    }
+
+    @Test
+    void insert_TimeoutDuringCommit_WaitsForTheCommittedRow() {
+        // Given - the commit outlasts the caller's timeout
+        when(jpaRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            Thread.sleep(300);
+            return invocation.getArgument(0);
+        });
+        UserInsertBatcher batcher = batcher(50);
+
+        // When
+        UserJpaEntity saved = batcher.insert(entity(1, "slow@example.com"));
+
+        // Then - the caller is not told the insert failed when the row was in fact committed
+        assertEquals("slow@example.com", saved.getEmail());
+        assertEquals(1, batcher.getRowCount());
+        assertEquals(1, userCounter.get());
+    }
+
+    private UserInsertBatcher batcher(long resultTimeoutMillis) {
+        return new UserInsertBatcher(jpaRepository, writeQueue, userCounter, transactionManager, true, 64, 2, resultTimeoutMillis);
+    }
+
+    private CountDownLatch blockWriter() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        writeQueue.submit(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        return release;
+    }
+
+    // The drain task sits behind the blocker, so queued inserts show up as the batcher's pending work
+    private static void awaitQueued(UserInsertBatcher batcher, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (batcher.getPendingCount() < expected) {
+            assertTrue(System.nanoTime() < deadline, "inserts were not queued");
+            Thread.sleep(5);
+        }
+    }
+
+    private static UserJpaEntity entity(long id, String email) {
+        UserJpaEntity entity = new UserJpaEntity(new UserEntity(null, email, "hashed", "John", "Doe",
+                "0812345678", LocalDate.of(1990, 1, 1)));
+        entity.setId(id);
+        entity.markNew();
+        return entity;
+    }
+}
@@ -0,0 +1,88 @@
+package com.kbtg.tempbackend.infrastructure.adapters;
+
+import com.kbtg.tempbackend.domain.entities.UserEntity;
+import com.kbtg.tempbackend.domain.exceptions.DuplicateEmailException;
+import com.kbtg.tempbackend.domain.repositories.UserRepositoryPort;
+import com.kbtg.tempbackend.infrastructure.UserRepositoryPortContractTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+// Each connection to an in-memory SQLite database sees its own empty database, so use a file
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:sqlite:target/user-repository-adapter-test.db",
+    "sqlite.datasource.enabled=true",
+    "spring.jpa.database-platform=org.hibernate.community.dialect.SQLiteDialect"
+})
+class UserRepositoryAdapterTest extends UserRepositoryPortContractTest {
+
+    @Autowired
+    private UserRepositoryAdapter repository;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+    }
+
+    @Override
+    protected UserRepositoryPort repository() {
+        return repository;
+    }
+
+    @Test
+    void save_ConcurrentRegistrationsOfOneEmail_OneSucceedsRestAreDuplicates() throws Exception {
+        // Given
+        ExecutorService callers = Executors.newFixedThreadPool(12);
+        List<Future<UserEntity>> results = new ArrayList<>();
+
+        // When
+        try {
+            for (int i = 0; i < 12; i++) {
+                results.add(callers.submit(() -> repository.save(newUser("race@example.com"))));
+            }
+            int saved = 0;
+            int duplicates = 0;
+            for (Future<UserEntity> result : results) {
+                try {
+                    result.get();
+                    saved++;
+                } catch (ExecutionException e) {
+                    // Anything but the domain exception would surface as a 500
+                    assertInstanceOf(DuplicateEmailException.class, e.getCause());
+                    duplicates++;
+                }
+            }
+
+            // Then
+            assertEquals(1, saved);
+            assertEquals(11, duplicates);
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void save_ExistingUserTakingAnotherEmail_ThrowsDuplicateEmailException() {
+        // Given - updates are not batched, so this goes through the write queue directly
+        repository.save(newUser("taken@example.com"));
+        UserEntity other = repository.save(newUser("other@example.com"));
+        other.setEmail("taken@example.com");
+
+        // When & Then
+        assertThrows(DuplicateEmailException.class, () -> repository.save(other));
+    }
+}
@@ -0,0 +1,222 @@
+package com.kbtg.tempbackend.infrastructure.logstore;
+
+import com.kbtg.tempbackend.domain.entities.UserEntity;
+import com.kbtg.tempbackend.domain.repositories.UserRepositoryPort;
+import com.kbtg.tempbackend.infrastructure.UserRepositoryPortContractTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AppendLogUserRepositoryTest extends UserRepositoryPortContractTest {
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private AppendLogUserRepository repository;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = directory.resolve("users.log");
+        repository = open();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        repository.destroy();
+    }
+
+    @Override
+    protected UserRepositoryPort repository() {
+        return repository;
+    }
+
+    private AppendLogUserRepository open() throws IOException {
+        // A tiny initial mapping so tests also exercise growth
+        return new AppendLogUserRepository(file, 256, true, 0, 0.5);
+    }
+
+    private AppendLogUserRepository reopen() throws IOException {
+        repository.destroy();
+        repository = open();
+        return repository;
+    }
+
+    @Test
+    void reopen_ReplaysLogIntoIndexes() throws IOException {
+        // Given
+        UserEntity kept = repository.save(newUser("kept@example.com"));
+        UserEntity renamed = repository.save(newUser("old@example.com"));
+        UserEntity deleted = repository.save(newUser("deleted@example.com"));
+        renamed.setEmail("new@example.com");
+        repository.save(renamed);
+        repository.deleteById(deleted.getId());
+
+        // When
+        reopen();
+
+        // Then
+        assertEquals(2, repository.count());
+        assertEquals(kept.getId(), repository.findByEmail("kept@example.com").orElseThrow().getId());
+        assertEquals(renamed.getId(), repository.findByEmail("new@example.com").orElseThrow().getId());
+        assertFalse(repository.existsByEmail("old@example.com"));
+        assertTrue(repository.findById(deleted.getId()).isEmpty());
+        assertTrue(repository.save(newUser("next@example.com")).getId() > deleted.getId());
+    }
+
+    @Test
+    void reopen_TornLastRecord_IsDropped() throws IOException {
+        // Given
+        repository.save(newUser("a@example.com"));
+        repository.save(newUser("b@example.com"));
+        repository.destroy();
+        long end = endOfLog();
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            // Corrupt the last byte of the last record's checksum
+            raf.seek(end - 1);
+            int last = raf.read();
+            raf.seek(end - 1);
+            raf.write(last ^ 0xFF);
+        }
+
+        // When
+        repository = open();
+
+        // Then
+        assertTrue(repository.existsByEmail("a@example.com"));
+        assertFalse(repository.existsByEmail("b@example.com"));
+        repository.save(newUser("c@example.com"));
+        assertEquals(2, reopen().count());
+    }
+
+    @Test
+    void compact_DropsDeadRecordsAndKeepsUsers() throws IOException {
+        // Given
+        UserEntity user = repository.save(newUser("a@example.com"));
+        for (int i = 0; i < 20; i++) {
+            user.setFirstname("Name" + i);
+            repository.save(user);
+        }
+        UserEntity last = repository.save(newUser("last@example.com"));
+        repository.deleteById(last.getId());
+        long deadBefore = repository.getDeadBytes();
+
+        // When
+        repository.compactIfNeeded();
+
+        // Then
+        assertTrue(deadBefore > 0);
+        assertEquals(1, repository.getCompactionCount());
+        assertEquals(0, repository.getDeadBytes());
+        assertEquals("Name19", repository.findByEmail("a@example.com").orElseThrow().getFirstname());
+        assertEquals(1, reopen().count());
+        assertEquals("Name19", repository.findById(user.getId()).orElseThrow().getFirstname());
+        // The id of the dropped user is never handed out again
+        assertTrue(repository.save(newUser("b@example.com")).getId() > last.getId());
+    }
+
+    @Test
+    void count_FollowsUpdatesDeletesAndCompaction() throws IOException {
+        // Given
+        UserEntity updated = repository.save(newUser("a@example.com"));
+        UserEntity deleted = repository.save(newUser("b@example.com"));
+        repository.save(newUser("c@example.com"));
+
+        // When
+        updated.setFirstname("Renamed");
+        repository.save(updated);
+        repository.deleteById(deleted.getId());
+        repository.deleteById(deleted.getId());
+        repository.compact();
+
+        // Then
+        assertEquals(2, repository.count());
+        assertEquals(2, reopen().count());
+        repository.deleteAll();
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    void compact_MoveFails_KeepsWritingToOriginalLog() throws IOException {
+        // Given
+        repository.destroy();
+        repository = new AppendLogUserRepository(file, 256, true, 0, 0.5, (source, target) -> {
+            throw new IOException("Simulated move failure");
+        });
+        UserEntity user = repository.save(newUser("a@example.com"));
+        user.setFirstname("Renamed");
+        repository.save(user);
+
+        // When
+        assertThrows(UncheckedIOException.class, repository::compact);
+
+        // Then
+        assertEquals("Renamed", repository.findByEmail("a@example.com").orElseThrow().getFirstname());
+        repository.save(newUser("b@example.com"));
+        assertEquals(0, repository.getCompactionCount());
+        assertFalse(Files.exists(directory.resolve("users.log.compact")));
+        assertEquals(2, reopen().count());
+    }
+
+    @Test
+    void compact_ReplacedLogCannotBeOpened_RejectsWrites() throws IOException {
+        // Given - the file is replaced by something that cannot be opened as a log
+        repository.destroy();
+        repository = new AppendLogUserRepository(file, 256, true, 0, 0.5, (source, target) -> {
+            Files.delete(source);
+            Files.delete(target);
+            Files.createDirectory(target);
+        });
+        repository.save(newUser("a@example.com"));
+
+        // When
+        assertThrows(UncheckedIOException.class, repository::compact);
+
+        // Then - reads are still served from the old mapping, writes are refused
+        assertTrue(repository.findByEmail("a@example.com").isPresent());
+        assertThrows(IllegalStateException.class, () -> repository.save(newUser("b@example.com")));
+        assertThrows(IllegalStateException.class, repository::compact);
+    }
+
+    @Test
+    void saveAll_GrowsMappingBeyondInitialCapacity() throws IOException {
+        // Given
+        List<UserEntity> users = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            users.add(newUser("user" + i + "@example.com"));
+        }
+
+        // When
+        repository.saveAll(users);
+
+        // Then
+        assertEquals(200, reopen().count());
+        assertTrue(repository.existsByEmail("user199@example.com"));
+    }
+
+    private long endOfLog() throws IOException {
+        // Records are packed after the 16 byte header; walk the lengths until the zero end marker
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r")) {
+            long position = 16;
+            while (true) {
+                raf.seek(position);
+                int length = raf.readInt();
+                if (length == 0) {
+                    return position;
+                }
+                position += length;
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.kbtg.tempbackend.infrastructure.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsRegistryTest {
+
+    @Test
+    void snapshot_ReadsGaugesWhenTaken() {
+        // Given
+        AtomicLong counter = new AtomicLong();
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.gauge("requests.count", counter::get);
+
+        // When
+        counter.set(3);
+        Map<String, Number> first = registry.snapshot();
+        counter.set(5);
+        Map<String, Number> second = registry.snapshot();
+
+        // Then
+        assertEquals(3L, first.get("requests.count"));
+        assertEquals(5L, second.get("requests.count"));
+    }
+
+    @Test
+    void snapshot_IsSortedByName() {
+        // Given
+        MetricsRegistry registry = new MetricsRegistry()
+                .bind(r -> r.gauge("b.second", () -> 2))
+                .bind(r -> r.gauge("a.first", () -> 1));
+
+        // When & Then
+        assertEquals(List.of("a.first", "b.second"), List.copyOf(registry.snapshot().keySet()));
+    }
+
+    @Test
+    void gauge_DuplicateName_Throws() {
+        // Given
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.gauge("requests.count", () -> 1);
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> registry.gauge("requests.count", () -> 2));
+    }
+}
@@ -0,0 +1,55 @@
+package com.kbtg.tempbackend.infrastructure.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BCryptCalibrationTest {
+
+    @Test
+    void strengthOf_BCryptHash() {
+        // Given
+        String hash = new BCryptPasswordEncoder(5).encode("password123");
+
+        // When & Then
+        assertEquals(5, BCryptCalibration.strengthOf(hash));
+    }
+
+    @Test
+    void strengthOf_NotBCryptHash() {
+        assertEquals(-1, BCryptCalibration.strengthOf(null));
+        assertEquals(-1, BCryptCalibration.strengthOf("plaintext"));
+        assertEquals(-1, BCryptCalibration.strengthOf("$2a$xx$abc"));
+    }
+
+    @Test
+    void measure_NeverGoesBelowMinimum() {
+        // When
+        BCryptCalibration calibration = BCryptCalibration.measure(0, 4);
+
+        // Then
+        assertEquals(4, calibration.getStrength());
+        assertTrue(calibration.getMeasuredMillis() > 0);
+    }
+
+    @Test
+    void measure_StaysWithinTarget() {
+        // When
+        BCryptCalibration calibration = BCryptCalibration.measure(50, 4);
+
+        // Then
+        assertTrue(calibration.getStrength() >= 4);
+        assertTrue(calibration.getStrength() == 4 || calibration.getMeasuredMillis() <= 50);
+    }
+
+    @Test
+    void fixed_UsesPinnedStrength() {
+        // When
+        BCryptCalibration calibration = BCryptCalibration.fixed(12);
+
+        // Then
+        assertEquals(12, calibration.getStrength());
+        assertEquals(0, calibration.getMeasuredMillis());
+    }
+}
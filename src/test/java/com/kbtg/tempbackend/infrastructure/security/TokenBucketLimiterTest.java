@@ -0,0 +1,121 @@
+package com.kbtg.tempbackend.infrastructure.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private AtomicLong clock;
+    private TokenBucketLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(1_000 * SECOND);
+        limiter = new TokenBucketLimiter(3, SECOND, 1000, 4, clock::get);
+    }
+
+    @Test
+    void tryAcquire_AllowsBurstThenRejects() {
+        // When & Then
+        assertEquals(0, limiter.tryAcquire("test@example.com"));
+        assertEquals(0, limiter.tryAcquire("test@example.com"));
+        assertEquals(0, limiter.tryAcquire("test@example.com"));
+
+        long wait = limiter.tryAcquire("test@example.com");
+        assertTrue(wait > 0);
+        assertTrue(wait <= SECOND);
+    }
+
+    @Test
+    void tryAcquire_RefillsOverTime() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("test@example.com");
+        }
+        assertTrue(limiter.tryAcquire("test@example.com") > 0);
+
+        // When
+        clock.addAndGet(SECOND);
+
+        // Then
+        assertEquals(0, limiter.tryAcquire("test@example.com"));
+        assertTrue(limiter.tryAcquire("test@example.com") > 0);
+    }
+
+    @Test
+    void tryAcquire_KeysAreIndependent() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("first@example.com");
+        }
+
+        // When & Then
+        assertTrue(limiter.tryAcquire("first@example.com") > 0);
+        assertEquals(0, limiter.tryAcquire("second@example.com"));
+    }
+
+    @Test
+    void tryAcquire_ManyDistinctKeys_StaysBounded() {
+        // When
+        for (int i = 0; i < 100_000; i++) {
+            limiter.tryAcquire("user" + i + "@example.com");
+            clock.addAndGet(SECOND / 100);
+        }
+
+        // Then
+        assertTrue(limiter.size() <= 1000);
+    }
+
+    @Test
+    void tryAcquire_KeySpray_DoesNotEvictThrottledBucket() {
+        // Given - a victim's bucket is exhausted and every stripe can hold only a few keys
+        limiter = new TokenBucketLimiter(3, SECOND, 16, 4, clock::get);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("victim@example.com");
+        }
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            limiter.tryAcquire("spray" + i + "@example.com");
+        }
+
+        // Then
+        assertTrue(limiter.tryAcquire("victim@example.com") > 0);
+        assertTrue(limiter.size() <= 16);
+    }
+
+    @Test
+    void tryAcquire_FullStripeOfRefillingBuckets_RejectsNewKey() {
+        // Given - a single stripe holding one key, which is still refilling
+        limiter = new TokenBucketLimiter(3, SECOND, 1, 1, clock::get);
+        limiter.tryAcquire("first@example.com");
+
+        // When
+        long wait = limiter.tryAcquire("second@example.com");
+
+        // Then
+        assertTrue(wait > 0);
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    void tryAcquire_FullStripe_EvictsRefilledBucketForNewKey() {
+        // Given
+        limiter = new TokenBucketLimiter(3, SECOND, 1, 1, clock::get);
+        limiter.tryAcquire("first@example.com");
+        clock.addAndGet(SECOND);
+
+        // When
+        long wait = limiter.tryAcquire("second@example.com");
+
+        // Then
+        assertEquals(0, wait);
+        assertEquals(1, limiter.size());
+    }
+}
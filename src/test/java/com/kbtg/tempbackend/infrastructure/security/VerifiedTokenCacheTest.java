@@ -0,0 +1,187 @@
+package com.kbtg.tempbackend.infrastructure.security;
+
+import com.kbtg.tempbackend.domain.services.TokenVerification;
+import com.kbtg.tempbackend.infrastructure.metrics.MetricsRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    private VerifiedTokenCache cache;
+    private AtomicInteger verifications;
+
+    @BeforeEach
+    void setUp() {
+        cache = new VerifiedTokenCache(true, 1024 * 1024);
+        verifications = new AtomicInteger();
+    }
+
+    private Function<String, TokenVerification> verifierExpiringAt(Instant expiresAt) {
+        return token -> {
+            verifications.incrementAndGet();
+            return TokenVerification.valid("test@example.com", 1L, expiresAt, Instant.now());
+        };
+    }
+
+    @Test
+    void getOrVerify_RepeatToken_SkipsVerification() {
+        // Given
+        Function<String, TokenVerification> verifier = verifierExpiringAt(Instant.now().plusSeconds(3600));
+
+        // When
+        TokenVerification first = cache.getOrVerify("token-a", verifier);
+        TokenVerification second = cache.getOrVerify("token-a", verifier);
+
+        // Then
+        assertSame(first, second);
+        assertEquals(1, verifications.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void getOrVerify_ExpiredEntry_IsEvictedAndReverified() {
+        // Given
+        Function<String, TokenVerification> verifier = verifierExpiringAt(Instant.now().minusSeconds(1));
+
+        // When
+        cache.getOrVerify("token-a", verifier);
+        cache.getOrVerify("token-a", verifier);
+
+        // Then
+        assertEquals(2, verifications.get());
+        assertEquals(0, cache.getHitCount());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    void getOrVerify_InvalidToken_IsNotCached() {
+        // When
+        cache.getOrVerify("garbage", token -> TokenVerification.invalid());
+
+        // Then
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getUsedBytes());
+    }
+
+    @Test
+    void getOrVerify_StaysWithinMemoryBudget() {
+        // Given
+        cache = new VerifiedTokenCache(true, 10L * VerifiedTokenCache.ENTRY_OVERHEAD_BYTES + 300);
+        Function<String, TokenVerification> verifier = verifierExpiringAt(Instant.now().plusSeconds(3600));
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            cache.getOrVerify("token-" + i, verifier);
+        }
+
+        // Then
+        assertTrue(cache.getUsedBytes() <= cache.getMaxBytes());
+        assertTrue(cache.size() < 100);
+        assertTrue(cache.getEvictionCount() > 0);
+    }
+
+    @Test
+    void getOrVerify_FullBudget_EvictsLeastRecentlyUsed() {
+        // Given - room for exactly three entries
+        cache = new VerifiedTokenCache(true, 3L * (VerifiedTokenCache.ENTRY_OVERHEAD_BYTES + 32));
+        Function<String, TokenVerification> verifier = verifierExpiringAt(Instant.now().plusSeconds(3600));
+        cache.getOrVerify("token-a", verifier);
+        cache.getOrVerify("token-b", verifier);
+        cache.getOrVerify("token-c", verifier);
+        cache.getOrVerify("token-a", verifier);
+
+        // When
+        cache.getOrVerify("token-d", verifier);
+        verifications.set(0);
+        cache.getOrVerify("token-a", verifier);
+        cache.getOrVerify("token-b", verifier);
+
+        // Then - token-a was used recently and stayed; token-b was the eldest and went
+        assertEquals(1, verifications.get());
+    }
+
+    @Test
+    void getOrVerify_ConcurrentMisses_NeverExceedBudget() throws InterruptedException {
+        // Given
+        cache = new VerifiedTokenCache(true, 200L * (VerifiedTokenCache.ENTRY_OVERHEAD_BYTES + 32));
+        Function<String, TokenVerification> verifier = verifierExpiringAt(Instant.now().plusSeconds(3600));
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            int offset = t * 10_000;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 2_000; i++) {
+                    cache.getOrVerify("token-" + (offset + i), verifier);
+                    assertTrue(cache.getUsedBytes() <= cache.getMaxBytes());
+                }
+            });
+        }
+
+        // When
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Then
+        assertTrue(cache.getUsedBytes() <= cache.getMaxBytes());
+        assertTrue(cache.getEvictionCount() > 0);
+    }
+
+    @Test
+    void clear_ResetsUsedBytes() {
+        // Given
+        cache.getOrVerify("token-a", verifierExpiringAt(Instant.now().plusSeconds(3600)));
+
+        // When
+        cache.clear();
+
+        // Then
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getUsedBytes());
+    }
+
+    @Test
+    void getOrVerify_Disabled_AlwaysVerifies() {
+        // Given
+        cache = new VerifiedTokenCache(false, 1024 * 1024);
+        Function<String, TokenVerification> verifier = verifierExpiringAt(Instant.now().plusSeconds(3600));
+
+        // When
+        cache.getOrVerify("token-a", verifier);
+        cache.getOrVerify("token-a", verifier);
+
+        // Then
+        assertEquals(2, verifications.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void bindTo_ReportsCountersAndMemory() {
+        // Given
+        MetricsRegistry registry = new MetricsRegistry().bind(cache);
+        Function<String, TokenVerification> verifier = verifierExpiringAt(Instant.now().plusSeconds(3600));
+
+        // When
+        cache.getOrVerify("token-a", verifier);
+        cache.getOrVerify("token-a", verifier);
+        Map<String, Number> metrics = registry.snapshot();
+
+        // Then
+        assertEquals(1L, metrics.get("auth.token-cache.hits"));
+        assertEquals(1L, metrics.get("auth.token-cache.misses"));
+        assertEquals(0L, metrics.get("auth.token-cache.evictions"));
+        assertEquals(1, metrics.get("auth.token-cache.size"));
+        assertEquals(cache.getUsedBytes(), metrics.get("auth.token-cache.used-bytes"));
+        assertEquals(1024L * 1024, metrics.get("auth.token-cache.max-bytes"));
+    }
+}
@@ -0,0 +1,73 @@
+package com.kbtg.tempbackend.infrastructure.sqlite;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqliteRoutingDataSourceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private SqliteRoutingDataSource dataSource;
+    private SqliteWriteQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        String url = "jdbc:sqlite:" + tempDir.resolve("routing.db");
+        dataSource = new SqliteRoutingDataSource(pool("test-read", url, 2), pool("test-write", url, 1));
+        queue = new SqliteWriteQueue(true, 16, 5000);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        queue.destroy();
+        dataSource.close();
+    }
+
+    @Test
+    void getConnection_CallerThread_UsesReadPool() throws SQLException {
+        // When
+        try (Connection ignored = dataSource.getConnection()) {
+            // Then
+            assertEquals(1, dataSource.getReadPool().getHikariPoolMXBean().getActiveConnections());
+            assertEquals(0, dataSource.getWriter().getHikariPoolMXBean().getActiveConnections());
+        }
+    }
+
+    @Test
+    void getConnection_WriterThread_UsesWriterConnection() {
+        // When
+        int[] active = queue.execute(() -> {
+            try (Connection ignored = dataSource.getConnection()) {
+                return new int[] {
+                    dataSource.getReadPool().getHikariPoolMXBean().getActiveConnections(),
+                    dataSource.getWriter().getHikariPoolMXBean().getActiveConnections()
+                };
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // Then
+        assertEquals(0, active[0]);
+        assertEquals(1, active[1]);
+    }
+
+    private static HikariDataSource pool(String name, String url, int size) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(name);
+        config.setJdbcUrl(url);
+        config.setMaximumPoolSize(size);
+        return new HikariDataSource(config);
+    }
+}
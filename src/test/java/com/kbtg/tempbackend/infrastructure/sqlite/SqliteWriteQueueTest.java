@@ -0,0 +1,114 @@
+package com.kbtg.tempbackend.infrastructure.sqlite;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqliteWriteQueueTest {
+
+    private SqliteWriteQueue queue;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (queue != null) {
+            queue.destroy();
+        }
+    }
+
+    @Test
+    void execute_ConcurrentWrites_RunOneAtATimeOnWriterThread() throws InterruptedException {
+        // Given
+        queue = new SqliteWriteQueue(true, 1024, 5000);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        List<Thread> callers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            callers.add(new Thread(() -> {
+                for (int i = 0; i < 50; i++) {
+                    queue.run(() -> {
+                        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                        threadNames.add(Thread.currentThread().getName());
+                        inFlight.decrementAndGet();
+                    });
+                }
+            }));
+        }
+
+        // When
+        callers.forEach(Thread::start);
+        for (Thread caller : callers) {
+            caller.join();
+        }
+
+        // Then
+        assertEquals(1, maxInFlight.get());
+        assertEquals(Set.of("sqlite-writer"), threadNames);
+    }
+
+    @Test
+    void execute_WriteFails_RethrowsOnCaller() {
+        // Given
+        queue = new SqliteWriteQueue(true, 16, 5000);
+
+        // When & Then
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+                () -> queue.execute(() -> {
+                    throw new IllegalArgumentException("bad write");
+                }));
+        assertEquals("bad write", thrown.getMessage());
+    }
+
+    @Test
+    void execute_FullQueue_RejectsAfterTimeout() throws InterruptedException {
+        // Given - the writer is stuck and its single queue slot is taken
+        queue = new SqliteWriteQueue(true, 1, 50);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        queue.submit(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        queue.submit(() -> { });
+
+        try {
+            // When & Then
+            assertThrows(RejectedExecutionException.class, () -> queue.execute(() -> 1));
+            assertEquals(1, queue.getPendingWrites());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void execute_Disabled_RunsOnCallerThread() {
+        // Given
+        queue = new SqliteWriteQueue(false, 1, 0);
+
+        // When
+        Thread writer = queue.execute(Thread::currentThread);
+
+        // Then
+        assertSame(Thread.currentThread(), writer);
+        assertFalse(SqliteWriteQueue.isWriterThread());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.kbtg.tempbackend.infrastructure.web;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyStoreTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private AtomicLong clock;
+    private AtomicInteger calls;
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        calls = new AtomicInteger();
+        store = new IdempotencyStore(60 * SECOND, 3, clock::get);
+    }
+
+    @Test
+    void execute_Retry_ReplaysStoredResponse() {
+        // Given
+        store.execute("key-1", "fp", () -> respond(HttpStatus.CREATED)).join();
+
+        // When
+        ResponseEntity<String> replay = store.execute("key-1", "fp", () -> respond(HttpStatus.CREATED)).join();
+
+        // Then
+        assertEquals(1, calls.get());
+        assertEquals(HttpStatus.CREATED, replay.getStatusCode());
+        assertEquals("response 1", replay.getBody());
+        assertEquals("true", replay.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+    }
+
+    @Test
+    void execute_RetryWhileInFlight_WaitsForFirst() {
+        // Given
+        CompletableFuture<ResponseEntity<String>> pending = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<String>> first = store.execute("key-1", "fp", () -> pending);
+
+        // When
+        CompletableFuture<ResponseEntity<String>> retry = store.execute("key-1", "fp", () -> respond(HttpStatus.CREATED));
+        pending.complete(ResponseEntity.status(HttpStatus.CREATED).body("first"));
+
+        // Then
+        assertEquals("first", first.join().getBody());
+        assertEquals("first", retry.join().getBody());
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    void execute_SameKeyDifferentRequest_Throws() {
+        // Given
+        store.execute("key-1", "fp", () -> respond(HttpStatus.CREATED)).join();
+
+        // When & Then
+        assertThrows(IdempotencyStore.KeyReusedException.class,
+                () -> store.execute("key-1", "other", () -> respond(HttpStatus.CREATED)));
+    }
+
+    @Test
+    void execute_ServiceUnavailable_IsNotStored() {
+        // Given
+        store.execute("key-1", "fp", () -> respond(HttpStatus.SERVICE_UNAVAILABLE)).join();
+
+        // When
+        ResponseEntity<String> retry = store.execute("key-1", "fp", () -> respond(HttpStatus.CREATED)).join();
+
+        // Then
+        assertEquals(2, calls.get());
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+    }
+
+    @Test
+    void execute_AfterTtl_RunsAgain() {
+        // Given
+        store.execute("key-1", "fp", () -> respond(HttpStatus.CREATED)).join();
+
+        // When
+        clock.addAndGet(61 * SECOND);
+        store.execute("key-1", "fp", () -> respond(HttpStatus.CREATED)).join();
+
+        // Then
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void execute_ManyKeys_StaysBounded() {
+        // When
+        for (int i = 0; i < 100; i++) {
+            store.execute("key-" + i, "fp", () -> respond(HttpStatus.CREATED)).join();
+        }
+
+        // Then
+        assertTrue(store.size() <= 3);
+    }
+
+    private CompletableFuture<ResponseEntity<String>> respond(HttpStatus status) {
+        return CompletableFuture.completedFuture(ResponseEntity.status(status).body("response " + calls.incrementAndGet()));
+    }
+}
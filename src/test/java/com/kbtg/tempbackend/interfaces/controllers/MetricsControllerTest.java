@@ -0,0 +1,78 @@
+package com.kbtg.tempbackend.interfaces.controllers;
+
+import com.kbtg.tempbackend.util.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+// Stateless tokens need no stored user; a file database keeps every connection on the same data
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:sqlite:target/metrics-controller-test.db",
+    "spring.jpa.database-platform=org.hibernate.community.dialect.SQLiteDialect",
+    "jwt.auth.stateless=true",
+    "security.admin-emails=admin@example.com"
+})
+class MetricsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void getMetrics_Admin_ReportsPasswordMetrics() throws Exception {
+        // When & Then - the test profile pins the cost, so nothing is measured
+        mockMvc.perform(get("/api/metrics")
+                .header(HttpHeaders.AUTHORIZATION, bearer("admin@example.com")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['password.bcrypt.strength']").value(4))
+                .andExpect(jsonPath("$['password.bcrypt.measured-millis']").value(0.0))
+                .andExpect(jsonPath("$['password.rehash.count']").value(0));
+    }
+
+    @Test
+    void getMetrics_Admin_ReportsTokenCache() throws Exception {
+        // When & Then - the request's own token has just been verified and cached
+        mockMvc.perform(get("/api/metrics")
+                .header(HttpHeaders.AUTHORIZATION, bearer("admin@example.com")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['auth.token-cache.misses']").isNumber())
+                .andExpect(jsonPath("$['auth.token-cache.used-bytes']").isNumber())
+                .andExpect(jsonPath("$['auth.token-cache.max-bytes']").isNumber());
+    }
+
+    @Test
+    void getMetrics_Admin_ReportsUserCache() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/metrics")
+                .header(HttpHeaders.AUTHORIZATION, bearer("admin@example.com")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['users.cache.hits']").isNumber())
+                .andExpect(jsonPath("$['users.cache.misses']").isNumber())
+                .andExpect(jsonPath("$['users.cache.hit-ratio']").isNumber());
+    }
+
+    @Test
+    void getMetrics_OrdinaryUser_IsForbidden() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/metrics")
+                .header(HttpHeaders.AUTHORIZATION, bearer("user@example.com")))
+                .andExpect(status().isForbidden());
+    }
+
+    private String bearer(String email) {
+        return "Bearer " + jwtUtil.generateToken(1L, email);
+    }
+}
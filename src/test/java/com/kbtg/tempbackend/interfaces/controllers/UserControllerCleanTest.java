@@ -0,0 +1,102 @@
+package com.kbtg.tempbackend.interfaces.controllers;
+
+import com.kbtg.tempbackend.application.services.UserApplicationService;
+import com.kbtg.tempbackend.infrastructure.security.LoginThrottle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserControllerCleanTest {
+
+    private static final String REGISTRATION = "{\"email\":\"test@example.com\",\"password\":\"password123\","
+            + "\"firstname\":\"John\",\"lastname\":\"Doe\",\"phoneNumber\":\"0812345678\",\"birthday\":\"1990-01-01\"}";
+
+    @Mock
+    private UserApplicationService userApplicationService;
+
+    @Mock
+    private LoginThrottle loginThrottle;
+
+    @InjectMocks
+    private UserControllerClean controller;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void loginUser_HashingPoolSaturated_Returns503() throws Exception {
+        // Given
+        when(userApplicationService.loginUserAsync(anyString(), anyString()))
+                .thenThrow(new RejectedExecutionException("queue full"));
+
+        // When
+        MvcResult result = mockMvc.perform(post("/api/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"test@example.com\",\"password\":\"password123\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.status").value("error"));
+    }
+
+    @Test
+    void registerUser_HashingPoolSaturated_Returns503() throws Exception {
+        // Given
+        when(userApplicationService.registerUserAsync(any(), anyBoolean()))
+                .thenThrow(new RejectedExecutionException("queue full"));
+
+        // When
+        MvcResult result = mockMvc.perform(post("/api/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(REGISTRATION))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.status").value("error"));
+    }
+
+    @Test
+    void checkEmailsExist_NullOrInvalidEmail_Returns400() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/users/check-emails")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"emails\":[\"a@example.com\",null]}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/users/check-emails")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"emails\":[\"not-an-email\"]}"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(userApplicationService);
+    }
+}
@@ -0,0 +1,147 @@
+package com.kbtg.tempbackend.interfaces.controllers;
+
+import com.kbtg.tempbackend.application.services.UserApplicationService;
+import com.kbtg.tempbackend.interfaces.dtos.UserImportEvent;
+import com.kbtg.tempbackend.interfaces.dtos.UserSummaryResponse;
+import com.kbtg.tempbackend.util.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+// An async request timeout far shorter than any of the streams below
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:sqlite:target/user-streaming-timeout-test.db",
+    "spring.jpa.database-platform=org.hibernate.community.dialect.SQLiteDialect",
+    "spring.mvc.async.request-timeout=100ms",
+    "jwt.auth.stateless=true",
+    "security.admin-emails=admin@example.com"
+})
+class UserStreamingTimeoutTest {
+
+    private static final long PAUSE_MILLIS = 1000;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @MockBean
+    private UserApplicationService userApplicationService;
+
+    @Test
+    void listUsers_SlowerThanAsyncTimeout_StreamsEveryUser() {
+        // Given
+        when(userApplicationService.streamUsers()).thenAnswer(invocation -> slowUsers());
+
+        // When
+        ResponseEntity<String> response = exchange(HttpMethod.GET, "/api/users", null, null);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(3, response.getBody().lines().count());
+    }
+
+    @Test
+    void exportUsers_SlowerThanAsyncTimeout_WritesEveryUser() {
+        // Given
+        when(userApplicationService.streamUsers()).thenAnswer(invocation -> slowUsers());
+
+        // When
+        ResponseEntity<String> response = exchange(HttpMethod.GET, "/api/users/export?gzip=false", null, null);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(3, response.getBody().lines().count());
+    }
+
+    @Test
+    void exportUsers_UnsupportedFormat_Returns400() {
+        // When
+        ResponseEntity<String> response = exchange(HttpMethod.GET, "/api/users/export?format=xml", null, null);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertTrue(response.getBody().contains("Unsupported export format: xml"));
+    }
+
+    @Test
+    void importUsers_SlowerThanAsyncTimeout_StreamsEveryEvent() {
+        // Given
+        when(userApplicationService.importUsers(any(), any())).thenAnswer(invocation -> {
+            Consumer<UserImportEvent> listener = invocation.getArgument(1);
+            for (long batch = 1; batch <= 3; batch++) {
+                pause();
+                listener.accept(UserImportEvent.progress(UserImportEvent.PROGRESS, batch, batch, 0));
+            }
+            UserImportEvent done = UserImportEvent.progress(UserImportEvent.DONE, 3, 3, 0);
+            listener.accept(done);
+            return done;
+        });
+
+        // When
+        ResponseEntity<String> response = exchange(HttpMethod.POST, "/api/users/import",
+                MediaType.parseMediaType("application/x-ndjson"), "{\"email\":\"test@example.com\"}\n");
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(4, response.getBody().lines().count());
+    }
+
+    @Test
+    void importUsers_InvalidCsvHeader_Returns400() {
+        // When
+        ResponseEntity<String> response = exchange(HttpMethod.POST, "/api/users/import",
+                MediaType.parseMediaType("text/csv"), "email\ntest@example.com\n");
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertTrue(response.getBody().contains("\"status\":\"error\""));
+    }
+
+    private Stream<UserSummaryResponse> slowUsers() {
+        return Stream.of(1L, 2L, 3L)
+                .peek(id -> pause())
+                .map(id -> new UserSummaryResponse(id, "user" + id + "@example.com", "John", "Doe",
+                        "0812345678", LocalDate.of(1990, 1, 1)));
+    }
+
+    private static void pause() {
+        try {
+            Thread.sleep(PAUSE_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ResponseEntity<String> exchange(HttpMethod method, String path, MediaType contentType, String body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(jwtUtil.generateToken(1L, "admin@example.com"));
+        if (contentType != null) {
+            headers.setContentType(contentType);
+        }
+        return restTemplate.exchange(path, method, new HttpEntity<>(body, headers), String.class);
+    }
+}
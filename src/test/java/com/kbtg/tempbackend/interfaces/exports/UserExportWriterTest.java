@@ -0,0 +1,80 @@
+package com.kbtg.tempbackend.interfaces.exports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.kbtg.tempbackend.interfaces.dtos.UserSummaryResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserExportWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void csv_WritesHeaderAndQuotesOnlyWhenNeeded() throws IOException {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        try (UserExportWriter writer = UserExportWriter.create("csv", out, false, objectMapper)) {
+            writer.write(user(1L, "John"));
+            writer.write(user(2L, "Doe, \"Jr\""));
+        }
+
+        // Then
+        assertEquals("id,email,firstname,lastname,phoneNumber,birthday\n"
+                + "1,user1@example.com,John,Doe,0812345678,1990-01-01\n"
+                + "2,user2@example.com,\"Doe, \"\"Jr\"\"\",Doe,0812345678,1990-01-01\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void ndjson_Gzipped_OneObjectPerLine() throws IOException {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long rows;
+        try (UserExportWriter writer = UserExportWriter.forFile("users.ndjson.gz", out, objectMapper)) {
+            writer.write(user(1L, "John"));
+            writer.write(user(2L, "Jane"));
+            rows = writer.getRowCount();
+        }
+
+        // Then
+        String[] lines = gunzip(out.toByteArray()).split("\n");
+        assertEquals(2, rows);
+        assertEquals(2, lines.length);
+        assertEquals(1L, objectMapper.readTree(lines[0]).get("id").asLong());
+        assertEquals("Jane", objectMapper.readTree(lines[1]).get("firstname").asText());
+        assertFalse(lines[0].contains("password"));
+    }
+
+    @Test
+    void create_UnknownFormat_ThrowsIllegalArgumentException() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> UserExportWriter.create("xml", new ByteArrayOutputStream(), false, objectMapper));
+        assertThrows(IllegalArgumentException.class,
+                () -> UserExportWriter.forFile("users.txt", new ByteArrayOutputStream(), objectMapper));
+    }
+
+    private static UserSummaryResponse user(Long id, String firstname) {
+        return new UserSummaryResponse(id, "user" + id + "@example.com", firstname, "Doe", "0812345678",
+                LocalDate.of(1990, 1, 1));
+    }
+
+    private static String gunzip(byte[] data) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
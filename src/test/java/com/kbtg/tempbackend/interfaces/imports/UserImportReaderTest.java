@@ -0,0 +1,153 @@
+package com.kbtg.tempbackend.interfaces.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kbtg.tempbackend.interfaces.dtos.UserImportRecord;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserImportReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void csv_HeaderInAnyOrder_MapsColumnsByName() {
+        // Given
+        String csv = "birthday,email,firstname,lastname,phoneNumber,password\n"
+                + "1990-01-01,john@example.com,John,Doe,0812345678,secret\n";
+
+        // When
+        List<UserImportRecord> records = readAll(UserImportReader.csv(new StringReader(csv)));
+
+        // Then
+        assertEquals(1, records.size());
+        UserImportRecord record = records.get(0);
+        assertEquals("john@example.com", record.getEmail());
+        assertEquals("secret", record.getPassword());
+        assertEquals("0812345678", record.getPhoneNumber());
+        assertEquals("1990-01-01", record.getBirthday());
+        assertEquals(2, record.getLine());
+    }
+
+    @Test
+    void csv_QuotedFields_AreUnescaped() {
+        // Given
+        String csv = "email,password,firstname,lastname,phoneNumber,birthday\n"
+                + "\n"
+                + "a@example.com,\"pa,ss\"\"word\",\"Mary\nAnn\",Doe,0812345678,1990-01-01\n"
+                + "b@example.com,secret,Bob,Doe,0812345678,1990-01-01\n";
+
+        // When
+        List<UserImportRecord> records = readAll(UserImportReader.csv(new StringReader(csv)));
+
+        // Then
+        assertEquals(2, records.size());
+        assertEquals("pa,ss\"word", records.get(0).getPassword());
+        assertEquals("Mary\nAnn", records.get(0).getFirstname());
+        assertEquals(3, records.get(0).getLine());
+        assertEquals(5, records.get(1).getLine());
+    }
+
+    @Test
+    void csv_ShortRow_IsReportedNotThrown() {
+        // Given
+        String csv = "email,password,firstname,lastname,phoneNumber,birthday\n"
+                + "a@example.com,secret\n";
+
+        // When
+        List<UserImportRecord> records = readAll(UserImportReader.csv(new StringReader(csv)));
+
+        // Then
+        assertEquals(1, records.size());
+        assertNotNull(records.get(0).getParseError());
+    }
+
+    @Test
+    void csv_StrayQuote_OnlyLosesItsOwnRow() {
+        // Given
+        String csv = "email,password,firstname,lastname,phoneNumber,birthday\n"
+                + "a@example.com,secret,\"John,Doe,0812345678,1990-01-01\n"
+                + "b@example.com,secret,Bob,Doe,0812345678,1990-01-01\n"
+                + "c@example.com,secret,Cat,Doe,0812345678,1990-01-01\n";
+
+        // When
+        List<UserImportRecord> records = readAll(UserImportReader.csv(new StringReader(csv)));
+
+        // Then
+        assertEquals(3, records.size());
+        assertNotNull(records.get(0).getParseError());
+        assertEquals(2, records.get(0).getLine());
+        assertEquals("b@example.com", records.get(1).getEmail());
+        assertEquals(3, records.get(1).getLine());
+        assertEquals("c@example.com", records.get(2).getEmail());
+        assertEquals(4, records.get(2).getLine());
+    }
+
+    @Test
+    void csv_QuotedFieldOverLineLimit_ResumesOnNextLine() {
+        // Given - the quote on row one closes, but only after too many lines
+        StringBuilder csv = new StringBuilder("email,password,firstname,lastname,phoneNumber,birthday\n")
+                .append("a@example.com,secret,\"John\n");
+        for (int i = 0; i < 20; i++) {
+            csv.append("b").append(i).append("@example.com,secret,Bob,Doe,0812345678,1990-01-01\n");
+        }
+        csv.append("\",Doe,0812345678,1990-01-01\n");
+
+        // When
+        List<UserImportRecord> records = readAll(UserImportReader.csv(new StringReader(csv.toString())));
+
+        // Then
+        assertNotNull(records.get(0).getParseError());
+        assertEquals("b0@example.com", records.get(1).getEmail());
+        assertEquals(3, records.get(1).getLine());
+        assertEquals(22, records.size());
+    }
+
+    @Test
+    void csv_MissingColumn_ThrowsIllegalArgumentException() {
+        // Given
+        UserImportReader reader = UserImportReader.csv(new StringReader("email,password\n"));
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, reader::hasNext);
+        assertTrue(exception.getMessage().contains("firstname"));
+    }
+
+    @Test
+    void ndjson_InvalidLine_IsReportedAndReadingContinues() {
+        // Given
+        String ndjson = "{\"email\":\"a@example.com\",\"password\":\"secret\",\"birthday\":\"1990-01-01\"}\n"
+                + "{not json\n"
+                + "{\"email\":\"b@example.com\",\"extra\":true}\n";
+
+        // When
+        List<UserImportRecord> records = readAll(UserImportReader.ndjson(new StringReader(ndjson), objectMapper));
+
+        // Then
+        assertEquals(3, records.size());
+        assertEquals("a@example.com", records.get(0).getEmail());
+        assertEquals("1990-01-01", records.get(0).getBirthday());
+        assertNotNull(records.get(1).getParseError());
+        assertEquals(2, records.get(1).getLine());
+        assertEquals("b@example.com", records.get(2).getEmail());
+    }
+
+    @Test
+    void forFormat_PicksReaderFromMediaTypeOrFileName() {
+        // When & Then
+        assertDoesNotThrow(() -> UserImportReader.forFormat("text/csv;charset=UTF-8", new StringReader(""), objectMapper));
+        assertDoesNotThrow(() -> UserImportReader.forFormat("users.jsonl", new StringReader(""), objectMapper));
+        assertThrows(IllegalArgumentException.class,
+                () -> UserImportReader.forFormat("application/json", new StringReader(""), objectMapper));
+    }
+
+    private static List<UserImportRecord> readAll(UserImportReader reader) {
+        List<UserImportRecord> records = new ArrayList<>();
+        reader.forEachRemaining(records::add);
+        return records;
+    }
+}
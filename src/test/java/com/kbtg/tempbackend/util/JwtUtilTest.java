@@ -1,5 +1,6 @@
 package com.kbtg.tempbackend.util;
 
+import com.kbtg.tempbackend.domain.services.TokenVerification;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -148,4 +149,56 @@ class JwtUtilTest {
         assertEquals(testEmail, jwtUtil.getUsernameFromToken(token1));
         assertEquals(testEmail, jwtUtil.getUsernameFromToken(token2));
     }
+
+    @Test
+    void verifyToken_ValidToken() {
+        // Given
+        String token = jwtUtil.generateToken(testEmail);
+
+        // When
+        TokenVerification verification = jwtUtil.verifyToken(token);
+
+        // Then
+        assertTrue(verification.isValid());
+        assertEquals(testEmail, verification.getSubject());
+        assertNotNull(verification.getIssuedAt());
+        assertTrue(verification.getExpiresAt().isAfter(verification.getIssuedAt()));
+    }
+
+    @Test
+    void verifyToken_InvalidToken() {
+        // When
+        TokenVerification verification = jwtUtil.verifyToken("invalid.jwt.token");
+
+        // Then
+        assertFalse(verification.isValid());
+        assertNull(verification.getSubject());
+    }
+
+    @Test
+    void verifyToken_TamperedSignature() {
+        // Given
+        String token = jwtUtil.generateToken(testEmail);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        // When
+        TokenVerification verification = jwtUtil.verifyToken(tampered);
+
+        // Then
+        assertFalse(verification.isValid());
+    }
+
+    @Test
+    void verifyToken_CarriesUserIdClaim() {
+        // Given
+        String token = jwtUtil.generateToken(42L, testEmail);
+
+        // When
+        TokenVerification verification = jwtUtil.verifyToken(token);
+
+        // Then
+        assertTrue(verification.isValid());
+        assertEquals(testEmail, verification.getSubject());
+        assertEquals(42L, verification.getUserId());
+    }
 }